@@ -0,0 +1,16 @@
+-- Composite indexes for keyset (cursor) pagination of the issue feeds
+-- Run this SQL in PostgreSQL before deploying on an existing database.
+-- CONCURRENTLY avoids blocking writes on a large issues table; Hibernate
+-- skips creating these at startup once they exist.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_created_at_id
+    ON issues (created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_upvotes_created_at_id
+    ON issues (upvotes DESC, created_at DESC, id DESC);
+
+-- Verify the indexes were created
+SELECT indexname, indexdef
+FROM pg_indexes
+WHERE tablename = 'issues'
+ORDER BY indexname;
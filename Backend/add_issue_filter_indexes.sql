@@ -0,0 +1,38 @@
+-- Composite indexes for the faceted issue filter (GET /api/issues/filter)
+-- Run this SQL in PostgreSQL before deploying on an existing database.
+-- Equality facets lead, created_at DESC follows so results come back in
+-- feed order without a sort. The city/zone/area indexes also cover the
+-- foreign keys, which PostgreSQL does not index on its own.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_status_priority_created_at
+    ON issues (status, priority, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_city_status_created_at
+    ON issues (city_id, status, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_zone_status_created_at
+    ON issues (zone_id, status, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_area_status_created_at
+    ON issues (area_id, status, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_category_status_created_at
+    ON issues (category, status, created_at DESC);
+
+-- Single-facet lists (GET /api/issues/user/{id}, /status/{status}, /city/{id})
+-- page in (created_at, id) order with no second facet between the equality
+-- column and the sort key.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_user_created_at_id
+    ON issues (user_id, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_status_created_at_id
+    ON issues (status, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_city_created_at_id
+    ON issues (city_id, created_at DESC, id DESC);
+
+-- Verify the indexes were created
+SELECT indexname, indexdef
+FROM pg_indexes
+WHERE tablename = 'issues'
+ORDER BY indexname;
@@ -0,0 +1,10 @@
+-- Geolocation columns and the geohash index for the map viewport
+-- (GET /api/issues/map). Run this SQL in PostgreSQL before deploying on an
+-- existing database; Hibernate declares the same index for new databases.
+-- Existing issues have no coordinates and stay off the map.
+
+ALTER TABLE issues ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE issues ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+ALTER TABLE issues ADD COLUMN IF NOT EXISTS geohash VARCHAR(12);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_geohash ON issues (geohash);
@@ -0,0 +1,22 @@
+-- Full-text search over issue titles and descriptions
+-- Run this SQL in PostgreSQL once; GET /api/issues/search depends on it.
+-- The column is generated and stored, so Hibernate never writes it and it
+-- stays in sync on every insert/update. Adding it rewrites the table once.
+
+ALTER TABLE issues ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_search_vector
+    ON issues USING GIN (search_vector);
+
+-- Verify the column and index exist
+SELECT column_name, data_type, is_generated
+FROM information_schema.columns
+WHERE table_name = 'issues' AND column_name = 'search_vector';
+
+SELECT indexname, indexdef
+FROM pg_indexes
+WHERE tablename = 'issues' AND indexname = 'idx_issues_search_vector';
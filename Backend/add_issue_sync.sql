@@ -0,0 +1,14 @@
+-- Delta sync support (GET /api/issues/changes). Run this SQL in PostgreSQL
+-- before deploying on an existing database.
+
+-- Rows without updated_at would never be picked up by the (updated_at, id) keyset
+UPDATE issues SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_issues_updated_at_id ON issues (updated_at, id);
+
+CREATE TABLE IF NOT EXISTS issue_tombstones (
+    issue_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_issue_tombstones_deleted_at ON issue_tombstones (deleted_at);
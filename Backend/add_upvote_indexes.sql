@@ -0,0 +1,14 @@
+-- Per-issue index on upvotes, used by vote counts and the upvote
+-- reconciliation job (grouped COUNT(*) per id-range chunk of issues).
+-- Run this SQL in PostgreSQL before deploying on an existing database.
+-- CONCURRENTLY avoids blocking votes on a large upvotes table; Hibernate
+-- skips creating it at startup once it exists.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_upvotes_issue_id
+    ON upvotes (issue_id);
+
+-- Verify the index was created
+SELECT indexname, indexdef
+FROM pg_indexes
+WHERE tablename = 'upvotes'
+ORDER BY indexname;
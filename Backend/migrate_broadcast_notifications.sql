@@ -0,0 +1,35 @@
+-- Moves system announcements that were copied once per user in notifications
+-- into broadcast_notifications. Run this SQL in PostgreSQL once the backend
+-- has started and created the broadcast tables.
+-- Copies of one announcement were written within minutes of each other, so
+-- they are grouped by message and hour. Migrated announcements count as read
+-- for every user.
+
+BEGIN;
+
+-- Read markers compare ids, so each announcement takes the next value of the
+-- sequence (allocationSize = 1 in BroadcastNotification). Sequences created
+-- by an older backend step by 50.
+ALTER SEQUENCE broadcast_notifications_seq INCREMENT BY 1;
+
+INSERT INTO broadcast_notifications (id, message, type, created_at)
+SELECT nextval('broadcast_notifications_seq'), message, type, MIN(created_at)
+FROM notifications
+WHERE type = 'SYSTEM_ANNOUNCEMENT' AND issue_id IS NULL
+GROUP BY message, type, date_trunc('hour', created_at);
+
+INSERT INTO broadcast_read_markers (user_id, last_seen_id, updated_at)
+SELECT u.id, (SELECT COALESCE(MAX(id), 0) FROM broadcast_notifications), now()
+FROM users u
+ON CONFLICT (user_id) DO NOTHING;
+
+DELETE FROM notifications WHERE type = 'SYSTEM_ANNOUNCEMENT' AND issue_id IS NULL;
+
+COMMIT;
+
+-- Reclaim the space of the deleted copies
+VACUUM ANALYZE notifications;
+
+-- Verify
+SELECT COUNT(*) AS broadcasts FROM broadcast_notifications;
+SELECT COUNT(*) AS remaining_copies FROM notifications WHERE type = 'SYSTEM_ANNOUNCEMENT';
@@ -0,0 +1,26 @@
+-- Move primary keys from IDENTITY columns to pooled sequences
+-- Run this SQL in PostgreSQL BEFORE deploying the sequence-based entities on
+-- an existing database. It is idempotent and also safe on a fresh database
+-- that Hibernate created, where it only adds the column defaults.
+--
+-- Hibernate reserves ids 50 at a time (allocationSize = 50, pooled-lo), which
+-- lets it batch INSERTs instead of doing one round-trip per row to read back
+-- an identity value. The column default keeps plain SQL inserts such as
+-- create_admin.sql working.
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['users', 'cities', 'zones', 'areas', 'issues', 'upvotes',
+                             'notifications', 'surveys', 'survey_responses']
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t || '_seq');
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', t || '_seq');
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 1, false)',
+                       t || '_seq', t);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, t || '_seq');
+        EXECUTE format('ALTER SEQUENCE %I OWNED BY %I.id', t || '_seq', t);
+    END LOOP;
+END $$;
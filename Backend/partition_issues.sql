@@ -0,0 +1,119 @@
+-- Partition the issues table (PostgreSQL 13+)
+--
+--   issues                    RANGE (id)
+--   ├── issues_p000000        ids 0 .. 999,999
+--   ├── issues_p000001        ids 1,000,000 .. 1,999,999
+--   └── ...                   one per block of app.partitions.ids-per-partition ids
+--
+-- The partition key is the id. It never changes, so status changes and vote
+-- updates never move a row between partitions, and ids come from issues_seq
+-- in creation order, so each block is also a span of time: the newest issues
+-- live in the newest, small partitions and old blocks can be archived whole
+-- (see IssuePartitionService). Because the key is the id itself, the primary
+-- key stays (id) and upvotes and notifications keep their foreign keys.
+--
+-- Queries that filter on status or created_at do not prune partitions; they
+-- use the partitioned indexes below in each attached block, and archiving
+-- keeps the number of blocks small. There is no default partition, so blocks
+-- can be detached with DETACH PARTITION ... CONCURRENTLY; the backend keeps
+-- app.partitions.partitions-ahead blocks created past the id sequence.
+--
+-- Run once, with the backend stopped, after the other scripts in this
+-- directory. It copies every row, so schedule a maintenance window. The block
+-- size below must match app.partitions.ids-per-partition.
+
+BEGIN;
+
+-- Referencing foreign keys are dropped for the copy and recreated at the end
+CREATE TEMP TABLE issue_fks ON COMMIT DROP AS
+    SELECT conrelid::regclass AS tbl, conname, pg_get_constraintdef(oid) AS def
+    FROM pg_constraint
+    WHERE confrelid = 'issues'::regclass AND contype = 'f';
+
+DO $$
+DECLARE
+    r RECORD;
+BEGIN
+    FOR r IN SELECT * FROM issue_fks LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', r.tbl, r.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE issues RENAME TO issues_unpartitioned;
+ALTER SEQUENCE IF EXISTS issues_seq OWNED BY NONE;
+
+CREATE TABLE issues (LIKE issues_unpartitioned INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (id);
+ALTER TABLE issues ADD PRIMARY KEY (id);
+
+-- Blocks from the lowest id to two blocks past the sequence
+DO $$
+DECLARE
+    block_size BIGINT := 1000000;
+    block BIGINT;
+    last_block BIGINT;
+BEGIN
+    SELECT COALESCE(MIN(id), 0) / block_size INTO block FROM issues_unpartitioned;
+    SELECT GREATEST(COALESCE(MAX(id), 0), (SELECT last_value FROM issues_seq)) / block_size + 2
+        INTO last_block FROM issues_unpartitioned;
+    WHILE block <= last_block LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF issues FOR VALUES FROM (%s) TO (%s)',
+                       'issues_p' || lpad(block::text, 6, '0'),
+                       block * block_size, (block + 1) * block_size);
+        block := block + 1;
+    END LOOP;
+END $$;
+
+-- Copy every non-generated column; search_vector is recomputed on insert
+DO $$
+DECLARE
+    cols TEXT;
+BEGIN
+    SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position) INTO cols
+    FROM information_schema.columns
+    WHERE table_name = 'issues_unpartitioned' AND is_generated = 'NEVER';
+    EXECUTE format('INSERT INTO issues (%s) SELECT %s FROM issues_unpartitioned', cols, cols);
+END $$;
+
+DROP TABLE issues_unpartitioned;
+ALTER SEQUENCE IF EXISTS issues_seq OWNED BY issues.id;
+
+ALTER TABLE issues ADD FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE issues ADD FOREIGN KEY (city_id) REFERENCES cities (id);
+ALTER TABLE issues ADD FOREIGN KEY (zone_id) REFERENCES zones (id);
+ALTER TABLE issues ADD FOREIGN KEY (area_id) REFERENCES areas (id);
+
+DO $$
+DECLARE
+    r RECORD;
+BEGIN
+    FOR r IN SELECT * FROM issue_fks LOOP
+        EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I %s', r.tbl, r.conname, r.def);
+    END LOOP;
+END $$;
+
+-- Partitioned indexes: created on every current and future partition
+CREATE INDEX idx_issues_created_at_id ON issues (created_at DESC, id DESC);
+CREATE INDEX idx_issues_upvotes_created_at_id ON issues (upvotes DESC, created_at DESC, id DESC);
+CREATE INDEX idx_issues_status_priority_created_at ON issues (status, priority, created_at DESC, id DESC);
+CREATE INDEX idx_issues_city_status_created_at ON issues (city_id, status, created_at DESC);
+CREATE INDEX idx_issues_zone_status_created_at ON issues (zone_id, status, created_at DESC);
+CREATE INDEX idx_issues_area_status_created_at ON issues (area_id, status, created_at DESC);
+CREATE INDEX idx_issues_category_status_created_at ON issues (category, status, created_at DESC);
+CREATE INDEX idx_issues_user_created_at_id ON issues (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_issues_status_created_at_id ON issues (status, created_at DESC, id DESC);
+CREATE INDEX idx_issues_city_created_at_id ON issues (city_id, created_at DESC, id DESC);
+CREATE INDEX idx_issues_geohash ON issues (geohash);
+CREATE INDEX idx_issues_updated_at_id ON issues (updated_at, id);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'issues' AND column_name = 'search_vector') THEN
+        CREATE INDEX idx_issues_search_vector ON issues USING GIN (search_vector);
+    END IF;
+END $$;
+
+COMMIT;
+
+ANALYZE issues;
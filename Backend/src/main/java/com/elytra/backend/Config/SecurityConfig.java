@@ -1,6 +1,7 @@
 package com.elytra.backend.Config;
 
 import com.elytra.backend.Security.*;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -60,7 +61,7 @@ public class SecurityConfig {
                             java.util.List.of("http://localhost:5173", "http://localhost:3000"));
                     corsConfig.setAllowedMethods(java.util.List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
                     corsConfig.setAllowedHeaders(java.util.List.of("*")); // Allow all headers
-                    corsConfig.setExposedHeaders(java.util.List.of("Authorization", "Content-Type")); // Expose headers
+                    corsConfig.setExposedHeaders(java.util.List.of("Authorization", "Content-Type", "ETag", "X-Possible-Duplicates")); // Expose headers
                     corsConfig.setAllowCredentials(true);
                     corsConfig.setMaxAge(3600L); // Cache preflight for 1 hour
                     return corsConfig;
@@ -70,6 +71,8 @@ public class SecurityConfig {
                 .httpBasic(basic -> basic.disable()) // Disable HTTP Basic auth
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of already-authorized streams (export, notification SSE)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers("/", "/api", "/api/health").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
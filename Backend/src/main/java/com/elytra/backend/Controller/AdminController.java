@@ -1,18 +1,32 @@
 package com.elytra.backend.Controller;
 
+import com.elytra.backend.DTO.BulkStatusUpdateRequest;
+import com.elytra.backend.DTO.IssueFilter;
 import com.elytra.backend.Models.Issue;
+import com.elytra.backend.Models.IssueStatusTransition;
 import com.elytra.backend.Models.User;
+import com.elytra.backend.Services.IssueCache;
+import com.elytra.backend.Services.IssueExportService;
 import com.elytra.backend.Services.IssueService;
+import com.elytra.backend.Services.IssueTransitionService;
+import com.elytra.backend.Services.UserIssueStatsService;
 import com.elytra.backend.Services.UserService;
-import com.elytra.backend.Services.NotificationService;
+import com.elytra.backend.Services.NotificationStreamService;
 import com.elytra.backend.Services.SurveyService;
+import com.elytra.backend.Services.UpvoteIndex;
+import com.elytra.backend.Services.UpvoteReconciliationService;
 import com.elytra.backend.Repository.UserRepository;
 import com.elytra.backend.Repository.IssueRepository;
 import com.elytra.backend.Repository.SurveyResponseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -29,10 +43,28 @@ public class AdminController {
     private IssueService issueService;
 
     @Autowired
-    private NotificationService notificationService;
+    private SurveyService surveyService;
 
     @Autowired
-    private SurveyService surveyService;
+    private IssueCache issueCache;
+
+    @Autowired
+    private UserIssueStatsService userIssueStatsService;
+
+    @Autowired
+    private IssueExportService issueExportService;
+
+    @Autowired
+    private IssueTransitionService issueTransitionService;
+
+    @Autowired
+    private UpvoteIndex upvoteIndex;
+
+    @Autowired
+    private UpvoteReconciliationService upvoteReconciliationService;
+
+    @Autowired
+    private NotificationStreamService notificationStream;
 
     @Autowired
     private UserRepository userRepository;
@@ -68,26 +100,18 @@ public class AdminController {
         return ResponseEntity.ok(stats);
     }
 
-    // Get all users with their issue counts
+    // Get users with their issue counts, one page at a time
     @GetMapping("/users")
-    public ResponseEntity<List<Map<String, Object>>> getAllUsersWithStats() {
-        List<User> users = userService.getAllUsers();
-
-        List<Map<String, Object>> usersWithStats = users.stream()
-                .map(user -> {
-                    Map<String, Object> userMap = new HashMap<>();
-                    userMap.put("id", user.getId());
-                    userMap.put("username", user.getUsername());
-                    userMap.put("email", user.getEmail());
-                    userMap.put("role", user.getRole().toString());
-                    userMap.put("status", user.getStatus().toString());
-                    userMap.put("createdAt", user.getCreatedAt());
-                    userMap.put("reportCount", issueRepository.countByUserId(user.getId()));
-                    return userMap;
-                })
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(usersWithStats);
+    public ResponseEntity<?> getAllUsersWithStats(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(userService.getUsersWithStats(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     // Get user with their issues
@@ -123,33 +147,130 @@ public class AdminController {
             String statusStr = request.get("status");
             Issue.IssueStatus newStatus = Issue.IssueStatus.valueOf(statusStr);
 
-            Issue issue = issueRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Issue not found with id: " + id));
+            // Hooks, stats and the notification commit together in IssueService
+            Issue updatedIssue = issueService.updateIssueStatus(id, newStatus);
 
-            Issue.IssueStatus oldStatus = issue.getStatus();
-            issue.setStatus(newStatus);
+            return ResponseEntity.ok(issueService.convertToDTO(updatedIssue));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 
-            // Set resolved timestamp if status is RESOLVED
-            if (newStatus == Issue.IssueStatus.RESOLVED && oldStatus != Issue.IssueStatus.RESOLVED) {
-                issue.setResolvedAt(java.time.LocalDateTime.now());
-            }
+    // Update the status of many issues at once (admin only)
+    @PutMapping("/issues/status")
+    public ResponseEntity<?> bulkUpdateIssueStatus(@RequestBody BulkStatusUpdateRequest request) {
+        try {
+            Issue.IssueStatus newStatus = Issue.IssueStatus.valueOf(request.getStatus());
+            int updated = issueService.bulkUpdateStatus(request.getIssueIds(), newStatus);
 
-            Issue updatedIssue = issueRepository.save(issue);
+            Map<String, Object> response = new HashMap<>();
+            response.put("requested", request.getIssueIds() != null ? request.getIssueIds().size() : 0);
+            response.put("updated", updated);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 
-            // Send notification to issue creator
-            notificationService.createIssueStatusNotification(
-                    issue.getUser().getId(),
-                    issue.getId(),
-                    newStatus);
+    // Status transitions of an issue, oldest first
+    @GetMapping("/issues/{id}/history")
+    public ResponseEntity<List<IssueStatusTransition>> getIssueHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(issueTransitionService.getHistory(id));
+    }
 
-            return ResponseEntity.ok(issueService.convertToDTO(updatedIssue));
-        } catch (Exception e) {
+    // Resolution-time percentiles (hours) merged from per city/zone/category sketches
+    @GetMapping("/analytics/resolution-time")
+    public ResponseEntity<?> getResolutionTime(
+            @RequestParam(required = false) Long cityId,
+            @RequestParam(required = false) Long zoneId,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "50,90,99") List<Double> percentiles) {
+        try {
+            return ResponseEntity.ok(issueTransitionService.getResolutionStats(cityId, zoneId, category, percentiles));
+        } catch (IllegalArgumentException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.badRequest().body(error);
         }
     }
 
+    // Stream issues as CSV or NDJSON straight from a database cursor
+    @GetMapping("/issues/export")
+    public ResponseEntity<?> exportIssues(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long cityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        IssueExportService.Format exportFormat;
+        IssueFilter filter = new IssueFilter();
+        try {
+            exportFormat = IssueExportService.Format.valueOf(format.toUpperCase());
+            if (status != null) {
+                filter.setStatus(Issue.IssueStatus.valueOf(status.toUpperCase()));
+            }
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid format or status value");
+            return ResponseEntity.badRequest().body(error);
+        }
+        filter.setCityId(cityId);
+        filter.setCreatedFrom(from);
+        filter.setCreatedTo(to);
+
+        // Nothing is queried until the body is written on the async thread
+        StreamingResponseBody body = out -> issueExportService.export(filter, exportFormat, out);
+
+        boolean csv = exportFormat == IssueExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"issues." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
+    // Issue detail cache hit/miss/eviction counters
+    @GetMapping("/cache/issues")
+    public ResponseEntity<Map<String, Object>> getIssueCacheStats() {
+        return ResponseEntity.ok(issueCache.stats());
+    }
+
+    // Per-user upvote bitmap index: loaded users, hit rate, evictions
+    @GetMapping("/cache/upvotes")
+    public ResponseEntity<Map<String, Object>> getUpvoteIndexStats() {
+        return ResponseEntity.ok(upvoteIndex.stats());
+    }
+
+    // Open notification push streams and dropped clients
+    @GetMapping("/notifications/streams")
+    public ResponseEntity<Map<String, Object>> getNotificationStreamStats() {
+        return ResponseEntity.ok(notificationStream.stats());
+    }
+
+    // Drift repaired by the upvote counter reconciliation job
+    @GetMapping("/votes/reconciliation")
+    public ResponseEntity<Map<String, Object>> getUpvoteReconciliationStats() {
+        return ResponseEntity.ok(upvoteReconciliationService.stats());
+    }
+
+    // Run the upvote counter reconciliation now
+    @PostMapping("/votes/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcileUpvotes() {
+        return ResponseEntity.ok(upvoteReconciliationService.reconcile());
+    }
+
+    // Recompute the per-user issue counts from the issues table
+    @PostMapping("/user-stats/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildUserIssueStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("users", userIssueStatsService.rebuild());
+        return ResponseEntity.ok(response);
+    }
+
     // Get survey responses for a specific survey
     @GetMapping("/surveys/{surveyId}/responses")
     public ResponseEntity<?> getSurveyResponses(@PathVariable Long surveyId) {
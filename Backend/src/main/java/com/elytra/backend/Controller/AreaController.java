@@ -2,10 +2,13 @@ package com.elytra.backend.Controller;
 
 import com.elytra.backend.Models.Area;
 import com.elytra.backend.Services.AreaService;
+import com.elytra.backend.Services.CollectionVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -19,9 +22,16 @@ public class AreaController {
     @Autowired
     private AreaService areaService;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     @GetMapping
-    public ResponseEntity<List<Area>> getAllAreas() {
-        return ResponseEntity.ok(areaService.getAllAreas());
+    public ResponseEntity<List<Area>> getAllAreas(WebRequest request) {
+        String etag = collectionVersions.etag(CollectionVersions.Collection.LOCATIONS, "areas");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(areaService.getAllAreas());
     }
 
     @GetMapping("/{id}")
@@ -32,8 +42,12 @@ public class AreaController {
     }
 
     @GetMapping("/zone/{zoneId}")
-    public ResponseEntity<List<Area>> getAreasByZoneId(@PathVariable Long zoneId) {
-        return ResponseEntity.ok(areaService.getAreasByZoneId(zoneId));
+    public ResponseEntity<List<Area>> getAreasByZoneId(@PathVariable Long zoneId, WebRequest request) {
+        String etag = collectionVersions.etag(CollectionVersions.Collection.LOCATIONS, "zone", zoneId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(areaService.getAreasByZoneId(zoneId));
     }
 
     @PostMapping
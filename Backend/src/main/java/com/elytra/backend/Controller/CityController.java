@@ -1,11 +1,14 @@
 package com.elytra.backend.Controller;
 
 import com.elytra.backend.Models.City;
+import com.elytra.backend.Services.CollectionVersions;
 import com.elytra.backend.Services.CityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -19,9 +22,16 @@ public class CityController {
     @Autowired
     private CityService cityService;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     @GetMapping
-    public ResponseEntity<List<City>> getAllCities() {
-        return ResponseEntity.ok(cityService.getAllCities());
+    public ResponseEntity<List<City>> getAllCities(WebRequest request) {
+        String etag = collectionVersions.etag(CollectionVersions.Collection.LOCATIONS, "cities");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(cityService.getAllCities());
     }
 
     @GetMapping("/{id}")
@@ -2,18 +2,31 @@ package com.elytra.backend.Controller;
 
 import com.elytra.backend.Models.Issue;
 import com.elytra.backend.Models.User;
+import com.elytra.backend.Models.UserIssueStats;
+import com.elytra.backend.DTO.CursorPage;
 import com.elytra.backend.DTO.IssueDTO;
+import com.elytra.backend.DTO.IssueFilter;
+import com.elytra.backend.DTO.IssueSearchResult;
+import com.elytra.backend.DTO.VoteResult;
+import com.elytra.backend.Services.CollectionVersions;
+import com.elytra.backend.Services.DuplicateIssueIndex;
 import com.elytra.backend.Services.IssueService;
+import com.elytra.backend.Services.TrendingService;
 import com.elytra.backend.Services.UpvoteService;
+import com.elytra.backend.Services.UserIssueStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -27,81 +40,203 @@ public class IssueController {
     @Autowired
     private UpvoteService upvoteService;
 
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private UserIssueStatsService userIssueStatsService;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     @GetMapping
-    public ResponseEntity<List<IssueDTO>> getAllIssues(@AuthenticationPrincipal User currentUser) {
-        List<Issue> issues = issueService.getAllIssues();
-        List<IssueDTO> dtos = issues.stream()
-                .map(issue -> {
-                    IssueDTO dto = IssueDTO.fromEntity(issue);
-                    // Set user's vote status if authenticated
-                    if (currentUser != null) {
-                        boolean hasUpvoted = upvoteService.hasUserUpvoted(currentUser.getId(), issue.getId());
-                        dto.setHasUserUpvoted(hasUpvoted);
-                    }
-                    return dto;
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<?> getAllIssues(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal User currentUser,
+            WebRequest request) {
+        String etag = issueListETag("feed", cursor, limit, currentUser);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            CursorPage<IssueDTO> page = issueService.getAllIssues(cursor, limit);
+            withVoteStatus(page.getItems(), currentUser);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag).body(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @GetMapping("/sorted-by-upvotes")
-    public ResponseEntity<List<IssueDTO>> getIssuesSortedByUpvotes(@AuthenticationPrincipal User currentUser) {
-        List<Issue> issues = issueService.getIssuesSortedByUpvotes();
-        List<IssueDTO> dtos = issues.stream()
-                .map(issue -> {
-                    IssueDTO dto = IssueDTO.fromEntity(issue);
-                    if (currentUser != null) {
-                        boolean hasUpvoted = upvoteService.hasUserUpvoted(currentUser.getId(), issue.getId());
-                        dto.setHasUserUpvoted(hasUpvoted);
-                    }
-                    return dto;
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<?> getIssuesSortedByUpvotes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal User currentUser,
+            WebRequest request) {
+        String etag = issueListETag("upvotes", cursor, limit, currentUser);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            CursorPage<IssueDTO> page = issueService.getIssuesSortedByUpvotes(cursor, limit);
+            withVoteStatus(page.getItems(), currentUser);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag).body(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Combined filter, e.g. ?status=PENDING&priority=HIGH&zoneId=12&category=Roads
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterIssues(
+            @ModelAttribute IssueFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal User currentUser) {
+        try {
+            CursorPage<IssueDTO> page = issueService.filterIssues(filter, cursor, limit);
+            withVoteStatus(page.getItems(), currentUser);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Ranked full-text search over titles and descriptions
+    @GetMapping("/search")
+    public ResponseEntity<?> searchIssues(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal User currentUser) {
+        try {
+            CursorPage<IssueSearchResult> page = issueService.searchIssues(query, cursor, limit);
+            withVoteStatus(page.getItems().stream().map(IssueSearchResult::getIssue).collect(Collectors.toList()),
+                    currentUser);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Served from the in-memory per-city board, no issue queries
+    @GetMapping("/trending")
+    public ResponseEntity<List<IssueDTO>> getTrendingIssues(
+            @RequestParam Long cityId,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal User currentUser) {
+        List<IssueDTO> issues = trendingService.getTrending(cityId, limit);
+        return ResponseEntity.ok(withVoteStatus(issues, currentUser));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<IssueDTO> getIssueById(@PathVariable Long id) {
         return issueService.getIssueById(id)
-                .map(IssueDTO::fromEntity)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<IssueDTO>> getIssuesByUserId(@PathVariable Long userId) {
-        List<Issue> issues = issueService.getIssuesByUserId(userId);
-        List<IssueDTO> dtos = issues.stream()
-                .map(IssueDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<?> getIssuesByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal User currentUser) {
+        try {
+            CursorPage<IssueDTO> page = issueService.getIssuesByUserId(userId, cursor, limit);
+            withVoteStatus(page.getItems(), currentUser);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<IssueDTO>> getIssuesByStatus(@PathVariable String status,
+    public ResponseEntity<?> getIssuesByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_SIZE) int limit,
             @AuthenticationPrincipal User currentUser) {
-        Issue.IssueStatus issueStatus = Issue.IssueStatus.valueOf(status.toUpperCase());
-        List<Issue> issues = issueService.getIssuesByStatus(issueStatus);
-        List<IssueDTO> dtos = issues.stream()
-                .map(issue -> {
-                    IssueDTO dto = IssueDTO.fromEntity(issue);
-                    if (currentUser != null) {
-                        boolean hasUpvoted = upvoteService.hasUserUpvoted(currentUser.getId(), issue.getId());
-                        dto.setHasUserUpvoted(hasUpvoted);
-                    }
-                    return dto;
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        try {
+            Issue.IssueStatus issueStatus = Issue.IssueStatus.valueOf(status.toUpperCase());
+            CursorPage<IssueDTO> page = issueService.getIssuesByStatus(issueStatus, cursor, limit);
+            withVoteStatus(page.getItems(), currentUser);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @GetMapping("/city/{cityId}")
-    public ResponseEntity<List<IssueDTO>> getIssuesByCityId(@PathVariable Long cityId) {
-        List<Issue> issues = issueService.getIssuesByCityId(cityId);
-        List<IssueDTO> dtos = issues.stream()
-                .map(IssueDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<?> getIssuesByCityId(
+            @PathVariable Long cityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal User currentUser) {
+        try {
+            CursorPage<IssueDTO> page = issueService.getIssuesByCityId(cityId, cursor, limit);
+            withVoteStatus(page.getItems(), currentUser);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Delta sync for polling clients: changes and deletions since the last watermark
+    @GetMapping("/changes")
+    public ResponseEntity<?> getIssueChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + IssueService.MAX_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(issueService.getChangesSince(since, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Map viewport; zoom decides between individual issues and clustered counts
+    @GetMapping("/map")
+    public ResponseEntity<?> getIssuesInBounds(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam int zoom) {
+        try {
+            return ResponseEntity.ok(issueService.getIssuesInBounds(minLat, minLng, maxLat, maxLng, zoom));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Pre-submit check for likely duplicates in the same zone (or city)
+    @PostMapping("/similar")
+    public ResponseEntity<List<DuplicateIssueIndex.Match>> findSimilarIssues(
+            @RequestBody Map<String, String> request,
+            @RequestParam(required = false) Long cityId,
+            @RequestParam(required = false) Long zoneId,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(issueService.findSimilarIssues(
+                request.get("title"), request.get("description"), cityId, zoneId, limit));
     }
 
     @PostMapping
@@ -112,8 +247,17 @@ public class IssueController {
             @RequestParam(required = false) Long zoneId,
             @RequestParam(required = false) Long areaId) {
         try {
+            // Checked before saving so the new issue does not match itself; creation is never blocked
+            List<DuplicateIssueIndex.Match> similar = issueService.findSimilarIssues(
+                    issue.getTitle(), issue.getDescription(), cityId, zoneId, 5);
             Issue createdIssue = issueService.createIssue(issue, userId, cityId, zoneId, areaId);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdIssue);
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+            if (!similar.isEmpty()) {
+                response.header("X-Possible-Duplicates", similar.stream()
+                        .map(match -> String.valueOf(match.getIssueId()))
+                        .collect(Collectors.joining(",")));
+            }
+            return response.body(createdIssue);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -166,20 +310,23 @@ public class IssueController {
 
     @GetMapping("/user/{userId}/stats")
     public ResponseEntity<Map<String, Long>> getUserIssueStats(@PathVariable Long userId) {
+        UserIssueStats userStats = userIssueStatsService.getStats(userId);
         Map<String, Long> stats = new HashMap<>();
-        stats.put("total", issueService.countIssuesByUserId(userId));
-        stats.put("pending", issueService.countIssuesByUserIdAndStatus(userId, Issue.IssueStatus.PENDING));
-        stats.put("inProgress", issueService.countIssuesByUserIdAndStatus(userId, Issue.IssueStatus.IN_PROGRESS));
-        stats.put("resolved", issueService.countIssuesByUserIdAndStatus(userId, Issue.IssueStatus.RESOLVED));
+        stats.put("total", userStats.getTotal());
+        stats.put("pending", userStats.getPending());
+        stats.put("inProgress", userStats.getInProgress());
+        stats.put("resolved", userStats.getResolved());
         return ResponseEntity.ok(stats);
     }
 
     @PostMapping("/{id}/upvote")
     public ResponseEntity<?> upvoteIssue(@PathVariable Long id, @RequestParam Long userId) {
         try {
-            upvoteService.addUpvote(userId, id);
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Upvote added successfully");
+            VoteResult result = upvoteService.addUpvote(userId, id);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", result.isApplied() ? "Upvote added successfully" : "Issue already upvoted");
+            response.put("applied", result.isApplied());
+            response.put("upvotes", result.getUpvotes());
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
@@ -191,9 +338,11 @@ public class IssueController {
     @PostMapping("/{id}/downvote")
     public ResponseEntity<?> downvoteIssue(@PathVariable Long id, @RequestParam Long userId) {
         try {
-            upvoteService.removeUpvote(userId, id);
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Downvote processed successfully");
+            VoteResult result = upvoteService.removeUpvote(userId, id);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", result.isApplied() ? "Downvote processed successfully" : "No vote to remove");
+            response.put("applied", result.isApplied());
+            response.put("upvotes", result.getUpvotes());
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
@@ -205,9 +354,11 @@ public class IssueController {
     @DeleteMapping("/{id}/vote")
     public ResponseEntity<?> removeVote(@PathVariable Long id, @RequestParam Long userId) {
         try {
-            upvoteService.removeUpvote(userId, id);
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Vote removed successfully");
+            VoteResult result = upvoteService.removeUpvote(userId, id);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", result.isApplied() ? "Vote removed successfully" : "No vote to remove");
+            response.put("applied", result.isApplied());
+            response.put("upvotes", result.getUpvotes());
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
@@ -224,4 +375,23 @@ public class IssueController {
         response.put("hasUpvoted", hasUpvoted);
         return ResponseEntity.ok(response);
     }
+
+    // Resolves the user's vote status for the whole list in one query
+    private List<IssueDTO> withVoteStatus(List<IssueDTO> issues, User currentUser) {
+        if (currentUser == null) {
+            return issues;
+        }
+
+        Set<Long> upvotedIds = upvoteService.getUpvotedIssueIds(currentUser.getId(),
+                issues.stream().map(IssueDTO::getId).collect(Collectors.toList()));
+        issues.forEach(dto -> dto.setHasUserUpvoted(upvotedIds.contains(dto.getId())));
+        return issues;
+    }
+
+    // Responses carry the caller's vote status, so the tag varies by user
+    private String issueListETag(String list, String cursor, int limit, User currentUser) {
+        return collectionVersions.etag(CollectionVersions.Collection.ISSUES, list,
+                currentUser != null ? currentUser.getId() : "anon",
+                Integer.toHexString(Objects.hash(cursor, limit)));
+    }
 }
@@ -1,16 +1,20 @@
 package com.elytra.backend.Controller;
 
-import com.elytra.backend.Models.Notification;
+import com.elytra.backend.Models.User;
 import com.elytra.backend.DTO.NotificationDTO;
 import com.elytra.backend.Services.NotificationService;
+import com.elytra.backend.Services.NotificationStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -20,22 +24,30 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationStreamService notificationStream;
+
+    // Push channel replacing unread-count polling; see NotificationStreamService for the events
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@AuthenticationPrincipal User currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        long unread = notificationService.getUnreadCount(currentUser.getId());
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(notificationStream.subscribe(currentUser.getId(), unread));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<NotificationDTO>> getUserNotifications(@PathVariable Long userId) {
-        List<Notification> notifications = notificationService.getUserNotifications(userId);
-        List<NotificationDTO> dtos = notifications.stream()
-                .map(NotificationDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(notificationService.getUserNotifications(userId));
     }
 
     @GetMapping("/user/{userId}/unread")
     public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(@PathVariable Long userId) {
-        List<Notification> notifications = notificationService.getUnreadNotifications(userId);
-        List<NotificationDTO> dtos = notifications.stream()
-                .map(NotificationDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(notificationService.getUnreadNotifications(userId));
     }
 
     @GetMapping("/user/{userId}/unread-count")
@@ -46,10 +58,9 @@ public class NotificationController {
     }
 
     @PatchMapping("/{id}/read")
-    public ResponseEntity<?> markAsRead(@PathVariable Long id) {
+    public ResponseEntity<?> markAsRead(@PathVariable Long id, @AuthenticationPrincipal User currentUser) {
         try {
-            Notification notification = notificationService.markAsRead(id);
-            return ResponseEntity.ok(NotificationDTO.fromEntity(notification));
+            return ResponseEntity.ok(notificationService.markAsRead(userIdOf(currentUser), id));
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -58,9 +69,9 @@ public class NotificationController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteNotification(@PathVariable Long id) {
+    public ResponseEntity<?> deleteNotification(@PathVariable Long id, @AuthenticationPrincipal User currentUser) {
         try {
-            notificationService.deleteNotification(id);
+            notificationService.deleteNotification(userIdOf(currentUser), id);
             Map<String, String> response = new HashMap<>();
             response.put("message", "Notification deleted successfully");
             return ResponseEntity.ok(response);
@@ -70,4 +81,9 @@ public class NotificationController {
             return ResponseEntity.badRequest().body(error);
         }
     }
+
+    // Broadcast read state is per user, so it needs the caller
+    private static Long userIdOf(User currentUser) {
+        return currentUser != null ? currentUser.getId() : null;
+    }
 }
@@ -4,11 +4,14 @@ import com.elytra.backend.Models.Survey;
 import com.elytra.backend.Models.SurveyResponse;
 import com.elytra.backend.DTO.SurveyDTO;
 import com.elytra.backend.DTO.SurveyResponseRequest;
+import com.elytra.backend.Services.CollectionVersions;
 import com.elytra.backend.Services.SurveyService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -23,22 +26,33 @@ public class SurveyController {
     @Autowired
     private SurveyService surveyService;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     @GetMapping
-    public ResponseEntity<List<SurveyDTO>> getAllSurveys() {
+    public ResponseEntity<List<SurveyDTO>> getAllSurveys(WebRequest request) {
+        String etag = collectionVersions.etag(CollectionVersions.Collection.SURVEYS, "all");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<Survey> surveys = surveyService.getAllSurveys();
         List<SurveyDTO> dtos = surveys.stream()
                 .map(SurveyDTO::fromEntity)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(dtos);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<SurveyDTO>> getActiveSurveys() {
+    public ResponseEntity<List<SurveyDTO>> getActiveSurveys(WebRequest request) {
+        String etag = collectionVersions.etag(CollectionVersions.Collection.SURVEYS, "active");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<Survey> surveys = surveyService.getActiveSurveys();
         List<SurveyDTO> dtos = surveys.stream()
                 .map(SurveyDTO::fromEntity)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(dtos);
     }
 
     @GetMapping("/{id}")
@@ -1,5 +1,7 @@
 package com.elytra.backend.Controller;
 
+import com.elytra.backend.DTO.VoteResult;
+import com.elytra.backend.DTO.VoteStatusRequest;
 import com.elytra.backend.Services.UpvoteService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,10 +22,12 @@ public class UpvoteController {
     @PostMapping
     public ResponseEntity<?> addUpvote(@RequestParam Long userId, @RequestParam Long issueId) {
         try {
-            upvoteService.addUpvote(userId, issueId);
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Upvote added successfully");
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            VoteResult result = upvoteService.addUpvote(userId, issueId);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", result.isApplied() ? "Upvote added successfully" : "Issue already upvoted");
+            response.put("applied", result.isApplied());
+            response.put("upvotes", result.getUpvotes());
+            return ResponseEntity.status(result.isApplied() ? HttpStatus.CREATED : HttpStatus.OK).body(response);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -34,9 +38,11 @@ public class UpvoteController {
     @DeleteMapping
     public ResponseEntity<?> removeUpvote(@RequestParam Long userId, @RequestParam Long issueId) {
         try {
-            upvoteService.removeUpvote(userId, issueId);
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Upvote removed successfully");
+            VoteResult result = upvoteService.removeUpvote(userId, issueId);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", result.isApplied() ? "Upvote removed successfully" : "No vote to remove");
+            response.put("applied", result.isApplied());
+            response.put("upvotes", result.getUpvotes());
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
@@ -52,6 +58,19 @@ public class UpvoteController {
         return ResponseEntity.ok(response);
     }
 
+    // Vote state and counts for up to MAX_STATUS_IDS issues in one request
+    @PostMapping("/status")
+    public ResponseEntity<?> getVoteStatuses(@RequestParam(required = false) Long userId,
+            @RequestBody VoteStatusRequest request) {
+        try {
+            return ResponseEntity.ok(upvoteService.getVoteStatuses(userId, request.getIssueIds()));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @GetMapping("/count/{issueId}")
     public ResponseEntity<Map<String, Long>> getUpvoteCount(@PathVariable Long issueId) {
         Map<String, Long> response = new HashMap<>();
@@ -2,10 +2,13 @@ package com.elytra.backend.Controller;
 
 import com.elytra.backend.Models.Zone;
 import com.elytra.backend.Services.ZoneService;
+import com.elytra.backend.Services.CollectionVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -19,9 +22,16 @@ public class ZoneController {
     @Autowired
     private ZoneService zoneService;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     @GetMapping
-    public ResponseEntity<List<Zone>> getAllZones() {
-        return ResponseEntity.ok(zoneService.getAllZones());
+    public ResponseEntity<List<Zone>> getAllZones(WebRequest request) {
+        String etag = collectionVersions.etag(CollectionVersions.Collection.LOCATIONS, "zones");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(zoneService.getAllZones());
     }
 
     @GetMapping("/{id}")
@@ -32,8 +42,12 @@ public class ZoneController {
     }
 
     @GetMapping("/city/{cityId}")
-    public ResponseEntity<List<Zone>> getZonesByCityId(@PathVariable Long cityId) {
-        return ResponseEntity.ok(zoneService.getZonesByCityId(cityId));
+    public ResponseEntity<List<Zone>> getZonesByCityId(@PathVariable Long cityId, WebRequest request) {
+        String etag = collectionVersions.etag(CollectionVersions.Collection.LOCATIONS, "city", cityId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(zoneService.getZonesByCityId(cityId));
     }
 
     @PostMapping
@@ -0,0 +1,11 @@
+package com.elytra.backend.DTO;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusUpdateRequest {
+    private List<Long> issueIds;
+    private String status;
+}
@@ -0,0 +1,26 @@
+package com.elytra.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueChanges {
+    // Created or updated since the watermark, oldest change first
+    private List<IssueDTO> issues;
+    private List<Long> deletedIds;
+
+    // Pass back as "since" on the next call
+    private String watermark;
+
+    // More changes are waiting; call again right away with the new watermark
+    private boolean hasMore;
+
+    // The client's copy cannot be patched (first sync, or the watermark is older
+    // than the tombstone retention); drop local data and apply this as a full load
+    private boolean reset;
+}
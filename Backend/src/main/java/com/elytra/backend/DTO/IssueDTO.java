@@ -2,10 +2,12 @@ package com.elytra.backend.DTO;
 
 import com.elytra.backend.Models.Issue;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class IssueDTO {
     private Long id;
     private String title;
@@ -29,10 +31,39 @@ public class IssueDTO {
     private String zoneName;
     private Long areaId;
     private String areaName;
+    private Double latitude;
+    private Double longitude;
 
     // Vote tracking
     private Boolean hasUserUpvoted;
 
+    // Used by JPQL constructor projections in IssueRepository
+    public IssueDTO(Long id, String title, String description, String category, Issue.Priority priority,
+            Issue.IssueStatus status, Integer upvotes, LocalDateTime createdAt, LocalDateTime updatedAt,
+            LocalDateTime resolvedAt, Long userId, String username, Long cityId, String cityName,
+            Long zoneId, String zoneName, Long areaId, String areaName, Double latitude, Double longitude) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.priority = priority;
+        this.status = status;
+        this.upvotes = upvotes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.resolvedAt = resolvedAt;
+        this.userId = userId;
+        this.username = username;
+        this.cityId = cityId;
+        this.cityName = cityName;
+        this.zoneId = zoneId;
+        this.zoneName = zoneName;
+        this.areaId = areaId;
+        this.areaName = areaName;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
     public static IssueDTO fromEntity(Issue issue) {
         IssueDTO dto = new IssueDTO();
         dto.setId(issue.getId());
@@ -65,6 +96,8 @@ public class IssueDTO {
             dto.setAreaId(issue.getArea().getId());
             dto.setAreaName(issue.getArea().getName());
         }
+        dto.setLatitude(issue.getLatitude());
+        dto.setLongitude(issue.getLongitude());
 
         return dto;
     }
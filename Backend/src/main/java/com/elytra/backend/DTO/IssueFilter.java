@@ -0,0 +1,25 @@
+package com.elytra.backend.DTO;
+
+import com.elytra.backend.Models.Issue;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Optional facets for GET /api/issues/filter; null fields are not filtered on
+@Data
+public class IssueFilter {
+    private Issue.IssueStatus status;
+    private Issue.Priority priority;
+    private String category;
+    private Long cityId;
+    private Long zoneId;
+    private Long areaId;
+    private Long userId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+}
@@ -0,0 +1,18 @@
+package com.elytra.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueMapCluster {
+    // Geohash prefix of the grid cell
+    private String cell;
+    private Long count;
+
+    // Centroid of the issues in the cell, for placing the marker
+    private Double latitude;
+    private Double longitude;
+}
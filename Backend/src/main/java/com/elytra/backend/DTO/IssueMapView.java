@@ -0,0 +1,20 @@
+package com.elytra.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueMapView {
+    // "issues" at high zoom, "clusters" below it; the other list is empty
+    private String mode;
+    private List<IssueDTO> issues;
+    private List<IssueMapCluster> clusters;
+
+    // More issues matched than were returned
+    private boolean truncated;
+}
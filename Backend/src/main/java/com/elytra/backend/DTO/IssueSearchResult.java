@@ -0,0 +1,18 @@
+package com.elytra.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueSearchResult {
+    private IssueDTO issue;
+
+    // HTML-escaped text with matched terms wrapped in <mark></mark>
+    private String titleHighlight;
+    private String snippet;
+
+    private Double rank;
+}
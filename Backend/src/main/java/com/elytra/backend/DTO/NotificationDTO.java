@@ -1,5 +1,6 @@
 package com.elytra.backend.DTO;
 
+import com.elytra.backend.Models.BroadcastNotification;
 import com.elytra.backend.Models.Notification;
 import lombok.Data;
 
@@ -35,4 +36,19 @@ public class NotificationDTO {
 
         return dto;
     }
+
+    // Broadcasts use negative ids so they never collide with personal notifications
+    public static NotificationDTO fromBroadcast(BroadcastNotification broadcast, boolean read) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(-broadcast.getId());
+        dto.setMessage(broadcast.getMessage());
+        dto.setType(broadcast.getType());
+        dto.setIsRead(read);
+        dto.setCreatedAt(broadcast.getCreatedAt());
+        return dto;
+    }
+
+    public static boolean isBroadcastId(Long id) {
+        return id != null && id < 0;
+    }
 }
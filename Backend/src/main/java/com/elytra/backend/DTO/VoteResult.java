@@ -0,0 +1,12 @@
+package com.elytra.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// applied is false when the vote was already in the requested state
+@Data
+@AllArgsConstructor
+public class VoteResult {
+    private boolean applied;
+    private int upvotes;
+}
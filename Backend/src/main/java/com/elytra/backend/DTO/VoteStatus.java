@@ -0,0 +1,14 @@
+package com.elytra.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteStatus {
+    private Long issueId;
+    private boolean hasUpvoted;
+    private int upvotes;
+}
@@ -0,0 +1,10 @@
+package com.elytra.backend.DTO;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class VoteStatusRequest {
+    private List<Long> issueIds;
+}
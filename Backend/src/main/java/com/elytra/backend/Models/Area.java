@@ -21,7 +21,8 @@ import java.util.List;
 public class Area {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "areas_seq")
+    @SequenceGenerator(name = "areas_seq", sequenceName = "areas_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
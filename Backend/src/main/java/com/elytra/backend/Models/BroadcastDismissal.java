@@ -0,0 +1,28 @@
+package com.elytra.backend.Models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A broadcast a user deleted from their own notification list
+@Entity
+@Table(name = "broadcast_dismissals", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "broadcast_id" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastDismissal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "broadcast_dismissals_seq")
+    @SequenceGenerator(name = "broadcast_dismissals_seq", sequenceName = "broadcast_dismissals_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "broadcast_id", nullable = false)
+    private Long broadcastId;
+}
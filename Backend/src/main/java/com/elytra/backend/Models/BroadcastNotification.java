@@ -0,0 +1,39 @@
+package com.elytra.backend.Models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// An announcement stored once for all users; merged into each user's
+// notifications at read time, see NotificationService
+@Entity
+@Table(name = "broadcast_notifications", indexes = {
+        @Index(name = "idx_broadcast_notifications_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastNotification {
+
+    // Read markers compare ids, so ids must follow creation order across
+    // instances: one nextval per row, no pooled blocks
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "broadcast_notifications_seq")
+    @SequenceGenerator(name = "broadcast_notifications_seq", sequenceName = "broadcast_notifications_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50, nullable = false)
+    private Notification.NotificationType type = Notification.NotificationType.SYSTEM_ANNOUNCEMENT;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.elytra.backend.Models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Highest broadcast id a user has read; every broadcast up to it counts as read
+@Entity
+@Table(name = "broadcast_read_markers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastReadMarker {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_seen_id", nullable = false)
+    private long lastSeenId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -13,14 +13,32 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "issues")
+@Table(name = "issues", indexes = {
+        @Index(name = "idx_issues_created_at_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_issues_upvotes_created_at_id", columnList = "upvotes DESC, created_at DESC, id DESC"),
+        // Faceted filter (GET /api/issues/filter): equality columns first, then the sort key
+        @Index(name = "idx_issues_status_priority_created_at", columnList = "status, priority, created_at DESC, id DESC"),
+        @Index(name = "idx_issues_city_status_created_at", columnList = "city_id, status, created_at DESC"),
+        @Index(name = "idx_issues_zone_status_created_at", columnList = "zone_id, status, created_at DESC"),
+        @Index(name = "idx_issues_area_status_created_at", columnList = "area_id, status, created_at DESC"),
+        @Index(name = "idx_issues_category_status_created_at", columnList = "category, status, created_at DESC"),
+        // Single-facet lists (GET /api/issues/user/{id}, /status/{status}, /city/{id})
+        @Index(name = "idx_issues_user_created_at_id", columnList = "user_id, created_at DESC, id DESC"),
+        @Index(name = "idx_issues_status_created_at_id", columnList = "status, created_at DESC, id DESC"),
+        @Index(name = "idx_issues_city_created_at_id", columnList = "city_id, created_at DESC, id DESC"),
+        // Map viewport (GET /api/issues/map): one range scan per geohash cell
+        @Index(name = "idx_issues_geohash", columnList = "geohash"),
+        // Delta sync (GET /api/issues/changes)
+        @Index(name = "idx_issues_updated_at_id", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Issue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issues_seq")
+    @SequenceGenerator(name = "issues_seq", sequenceName = "issues_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -63,6 +81,15 @@ public class Issue {
     @Column(nullable = false)
     private Integer upvotes = 0;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    // Derived from latitude/longitude by IssueService; null when not geolocated
+    @Column(length = 12)
+    @JsonIgnore
+    private String geohash;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
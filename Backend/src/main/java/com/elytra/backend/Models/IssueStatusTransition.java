@@ -0,0 +1,44 @@
+package com.elytra.backend.Models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Append-only log of issue status changes. issue_id has no FK so history
+// outlives deleted issues and works with a partitioned issues table.
+@Entity
+@Table(name = "issue_status_transitions", indexes = {
+        @Index(name = "idx_issue_status_transitions_issue_id", columnList = "issue_id, changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueStatusTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_status_transitions_seq")
+    @SequenceGenerator(name = "issue_status_transitions_seq", sequenceName = "issue_status_transitions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "issue_id", nullable = false)
+    private Long issueId;
+
+    // Null for the initial status at creation
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 20)
+    private Issue.IssueStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", length = 20, nullable = false)
+    private Issue.IssueStatus toStatus;
+
+    // Null when the change did not come from a known user
+    @Column(name = "changed_by")
+    private Long changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
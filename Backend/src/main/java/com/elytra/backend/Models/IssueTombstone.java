@@ -0,0 +1,27 @@
+package com.elytra.backend.Models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Records deleted issue ids so delta sync clients can drop them locally.
+// Pruned after app.sync.tombstone-retention-days.
+@Entity
+@Table(name = "issue_tombstones", indexes = {
+        @Index(name = "idx_issue_tombstones_deleted_at", columnList = "deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueTombstone {
+
+    @Id
+    @Column(name = "issue_id")
+    private Long issueId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
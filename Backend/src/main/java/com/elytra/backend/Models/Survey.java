@@ -19,7 +19,8 @@ import java.util.List;
 public class Survey {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "surveys_seq")
+    @SequenceGenerator(name = "surveys_seq", sequenceName = "surveys_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class SurveyResponse {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "survey_responses_seq")
+    @SequenceGenerator(name = "survey_responses_seq", sequenceName = "survey_responses_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "upvotes", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "user_id", "issue_id" })
+}, indexes = {
+        @Index(name = "idx_upvotes_issue_id", columnList = "issue_id")
 })
 @Data
 @NoArgsConstructor
@@ -19,7 +21,8 @@ import java.time.LocalDateTime;
 public class Upvote {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "upvotes_seq")
+    @SequenceGenerator(name = "upvotes_seq", sequenceName = "upvotes_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,43 @@
+package com.elytra.backend.Models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Per-user issue counts, kept in step with the issues table by IssueService
+// and rebuilt periodically by UserIssueStatsService
+@Entity
+@Table(name = "user_issue_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserIssueStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long pending;
+
+    @Column(name = "in_progress", nullable = false)
+    private long inProgress;
+
+    @Column(nullable = false)
+    private long resolved;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public static UserIssueStats empty(Long userId) {
+        UserIssueStats stats = new UserIssueStats();
+        stats.setUserId(userId);
+        return stats;
+    }
+}
@@ -21,7 +21,8 @@ import java.util.List;
 public class Zone {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "zones_seq")
+    @SequenceGenerator(name = "zones_seq", sequenceName = "zones_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,20 @@
+package com.elytra.backend.Repository;
+
+import com.elytra.backend.Models.BroadcastDismissal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BroadcastDismissalRepository extends JpaRepository<BroadcastDismissal, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_dismissals (id, user_id, broadcast_id) "
+            + "VALUES (nextval('broadcast_dismissals_seq'), ?1, ?2) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(Long userId, Long broadcastId);
+
+    @Modifying
+    @Query("DELETE FROM BroadcastDismissal d WHERE d.userId = ?1")
+    int deleteByUserId(Long userId);
+}
@@ -0,0 +1,25 @@
+package com.elytra.backend.Repository;
+
+import com.elytra.backend.Models.BroadcastNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+
+    String VISIBLE = "FROM BroadcastNotification b WHERE b.createdAt >= ?1 "
+            + "AND NOT EXISTS (SELECT 1 FROM BroadcastDismissal d WHERE d.userId = ?2 AND d.broadcastId = b.id) ";
+
+    @Query("SELECT b " + VISIBLE + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BroadcastNotification> findVisible(LocalDateTime since, Long userId);
+
+    @Query("SELECT b " + VISIBLE + "AND b.id > ?3 ORDER BY b.createdAt DESC, b.id DESC")
+    List<BroadcastNotification> findVisibleAfter(LocalDateTime since, Long userId, long lastSeenId);
+
+    @Query("SELECT COUNT(b) " + VISIBLE + "AND b.id > ?3")
+    long countVisibleAfter(LocalDateTime since, Long userId, long lastSeenId);
+}
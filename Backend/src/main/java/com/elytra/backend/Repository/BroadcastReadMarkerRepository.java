@@ -0,0 +1,19 @@
+package com.elytra.backend.Repository;
+
+import com.elytra.backend.Models.BroadcastReadMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BroadcastReadMarkerRepository extends JpaRepository<BroadcastReadMarker, Long> {
+
+    // Moves the marker forward only, creating it if missing
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_read_markers (user_id, last_seen_id, updated_at) VALUES (?1, ?2, now()) "
+            + "ON CONFLICT (user_id) DO UPDATE SET "
+            + "last_seen_id = GREATEST(broadcast_read_markers.last_seen_id, EXCLUDED.last_seen_id), "
+            + "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int advance(Long userId, long broadcastId);
+}
@@ -1,14 +1,29 @@
 package com.elytra.backend.Repository;
 
+import com.elytra.backend.DTO.IssueDTO;
 import com.elytra.backend.Models.Issue;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface IssueRepository extends JpaRepository<Issue, Long> {
+public interface IssueRepository extends JpaRepository<Issue, Long>, IssueRepositoryCustom {
+
+    // Builds IssueDTOs in a single statement: no lazy association loads and no
+    // managed entities in the persistence context
+    String DTO_SELECT = "SELECT new com.elytra.backend.DTO.IssueDTO(i.id, i.title, i.description, i.category, "
+            + "i.priority, i.status, i.upvotes, i.createdAt, i.updatedAt, i.resolvedAt, "
+            + "u.id, u.username, c.id, c.name, z.id, z.name, a.id, a.name, i.latitude, i.longitude) "
+            + "FROM Issue i JOIN i.user u LEFT JOIN i.city c LEFT JOIN i.zone z LEFT JOIN i.area a ";
 
     List<Issue> findByUserId(Long userId);
 
@@ -22,14 +37,112 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
 
     List<Issue> findByCategory(String category);
 
-    @Query("SELECT i FROM Issue i ORDER BY i.createdAt DESC")
-    List<Issue> findAllOrderByCreatedAtDesc();
+    // Keyset pagination: (createdAt, id) DESC, served by idx_issues_created_at_id
+    @Query(DTO_SELECT + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findFeedFirstPage(Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.createdAt < ?1 OR (i.createdAt = ?1 AND i.id < ?2) "
+            + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findFeedAfter(LocalDateTime createdAt, Long id, Pageable pageable);
+
+    // Delta sync: (updatedAt, id) ASC, served by idx_issues_updated_at_id
+    @Query(DTO_SELECT + "WHERE i.updatedAt IS NOT NULL ORDER BY i.updatedAt, i.id")
+    List<IssueDTO> findChangesFirstPage(Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.updatedAt > ?1 OR (i.updatedAt = ?1 AND i.id > ?2) ORDER BY i.updatedAt, i.id")
+    List<IssueDTO> findChangesAfter(LocalDateTime updatedAt, Long id, Pageable pageable);
+
+    // Keyset pagination: (upvotes, createdAt, id) DESC, served by idx_issues_upvotes_created_at_id
+    @Query(DTO_SELECT + "ORDER BY i.upvotes DESC, i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findByUpvotesFirstPage(Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.upvotes < ?1 "
+            + "OR (i.upvotes = ?1 AND (i.createdAt < ?2 OR (i.createdAt = ?2 AND i.id < ?3))) "
+            + "ORDER BY i.upvotes DESC, i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findByUpvotesAfter(Integer upvotes, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.status = ?1")
+    List<IssueDTO> findDtosByStatus(Issue.IssueStatus status);
+
+    @Query(DTO_SELECT + "WHERE c.id = ?1")
+    List<IssueDTO> findDtosByCityId(Long cityId);
+
+    @Query(DTO_SELECT + "WHERE i.createdAt >= ?1 AND c.id IS NOT NULL")
+    List<IssueDTO> findDtosWithCityCreatedSince(LocalDateTime since);
+
+    @Query(DTO_SELECT + "WHERE i.id = ?1")
+    Optional<IssueDTO> findDtoById(Long id);
+
+    @Query(DTO_SELECT + "WHERE i.id IN ?1")
+    List<IssueDTO> findDtosByIdIn(Collection<Long> ids);
+
+    // Full-text search over the generated issues.search_vector column (see
+    // add_issue_search.sql). Headlines are only computed for the rows of the
+    // requested page, and the source text is HTML-escaped so that the <mark>
+    // tags are the only markup in the result.
+    @Query(value = "SELECT r.id AS id, r.rank AS rank, "
+            + "ts_headline('english', replace(replace(replace(r.title, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), "
+            + "r.query, 'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') AS \"titleHighlight\", "
+            + "ts_headline('english', replace(replace(replace(r.description, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), "
+            + "r.query, 'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=30, MinWords=10') AS snippet "
+            + "FROM (SELECT i.id, i.title, i.description, q.query, ts_rank_cd(i.search_vector, q.query) AS rank "
+            + "FROM issues i, websearch_to_tsquery('english', :query) AS q(query) "
+            + "WHERE i.search_vector @@ q.query "
+            + "ORDER BY rank DESC, i.id DESC LIMIT :limit OFFSET :offset) r "
+            + "ORDER BY r.rank DESC, r.id DESC", nativeQuery = true)
+    List<SearchHit> searchByText(@Param("query") String query, @Param("limit") int limit,
+            @Param("offset") int offset);
+
+    interface SearchHit {
+        Long getId();
+
+        Double getRank();
+
+        String getTitleHighlight();
+
+        String getSnippet();
+    }
+
+    // Bulk status transitions: [issueId, creatorId, currentStatus] of the issues that will change
+    @Query("SELECT i.id, i.user.id, i.status FROM Issue i WHERE i.id IN ?1 AND i.status <> ?2")
+    List<Object[]> findIdAndUserIdForStatusChange(Collection<Long> ids, Issue.IssueStatus status);
+
+    // Only issues whose status changes are updated, so resolvedAt is the
+    // transition time when resolving and null when moving to any other status
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Issue i SET i.status = ?2, i.updatedAt = ?3, i.resolvedAt = ?4 "
+            + "WHERE i.id IN ?1 AND i.status <> ?2")
+    int updateStatusByIdIn(Collection<Long> ids, Issue.IssueStatus status, LocalDateTime updatedAt,
+            LocalDateTime resolvedAt);
+
+    // Single-statement vote counter change; the row lock is held only for this UPDATE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Issue i SET i.upvotes = CASE WHEN i.upvotes + ?2 < 0 THEN 0 ELSE i.upvotes + ?2 END, "
+            + "i.updatedAt = ?3 WHERE i.id = ?1")
+    int addUpvotes(Long id, int delta, LocalDateTime updatedAt);
+
+    @Query("SELECT i.upvotes FROM Issue i WHERE i.id = ?1")
+    Optional<Integer> findUpvotesById(Long id);
+
+    // Vote counts for a page of issues: [id, upvotes]
+    @Query("SELECT i.id, i.upvotes FROM Issue i WHERE i.id IN ?1")
+    List<Object[]> findUpvotesByIdIn(Collection<Long> ids);
+
+    // Resolution-time samples: [cityId, zoneId, category, createdAt, resolvedAt, issueId]
+    String RESOLUTION_SAMPLE_SELECT = "SELECT c.id, z.id, i.category, i.createdAt, i.resolvedAt, i.id FROM Issue i "
+            + "LEFT JOIN i.city c LEFT JOIN i.zone z "
+            + "WHERE i.status = com.elytra.backend.Models.Issue.IssueStatus.RESOLVED AND i.resolvedAt IS NOT NULL ";
+
+    @Query(RESOLUTION_SAMPLE_SELECT)
+    Stream<Object[]> streamResolutionSamples();
 
-    @Query("SELECT i FROM Issue i ORDER BY i.upvotes DESC, i.createdAt DESC")
-    List<Issue> findAllOrderByUpvotesDesc();
+    @Query(RESOLUTION_SAMPLE_SELECT + "AND i.id IN ?1")
+    List<Object[]> findResolutionSamplesByIdIn(Collection<Long> ids);
 
-    @Query("SELECT i FROM Issue i WHERE i.user.id = ?1 ORDER BY i.createdAt DESC")
-    List<Issue> findByUserIdOrderByCreatedAtDesc(Long userId);
+    // Text of unresolved issues for the duplicate index: [id, title, description, cityId, zoneId]
+    @Query("SELECT i.id, i.title, i.description, c.id, z.id FROM Issue i "
+            + "LEFT JOIN i.city c LEFT JOIN i.zone z WHERE i.status <> com.elytra.backend.Models.Issue.IssueStatus.RESOLVED")
+    Stream<Object[]> streamOpenIssueText();
 
     @Query("SELECT COUNT(i) FROM Issue i WHERE i.user.id = ?1")
     Long countByUserId(Long userId);
@@ -0,0 +1,26 @@
+package com.elytra.backend.Repository;
+
+import com.elytra.backend.DTO.IssueDTO;
+import com.elytra.backend.DTO.IssueFilter;
+import com.elytra.backend.DTO.IssueMapCluster;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface IssueRepositoryCustom {
+
+    // Pass null afterCreatedAt/afterId for the first page
+    List<IssueDTO> findByFilter(IssueFilter filter, LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    // Forward-only cursor in id order; must be consumed and closed inside a transaction
+    Stream<IssueDTO> streamByFilter(IssueFilter filter, int fetchSize);
+
+    // Geolocated issues inside the box; cells are the geohash prefixes covering it, newest first
+    List<IssueDTO> findInCells(List<String> cells, double minLat, double minLng, double maxLat, double maxLng,
+            int limit);
+
+    // Counts and centroids per geohash prefix of the given precision inside the box
+    List<IssueMapCluster> clusterInCells(List<String> cells, double minLat, double minLng, double maxLat,
+            double maxLng, int precision);
+}
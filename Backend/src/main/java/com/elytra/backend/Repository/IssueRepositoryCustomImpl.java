@@ -0,0 +1,169 @@
+package com.elytra.backend.Repository;
+
+import com.elytra.backend.DTO.IssueDTO;
+import com.elytra.backend.DTO.IssueFilter;
+import com.elytra.backend.DTO.IssueMapCluster;
+import com.elytra.backend.Services.Geohash;
+import com.elytra.backend.Models.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class IssueRepositoryCustomImpl implements IssueRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<IssueDTO> findByFilter(IssueFilter filter, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IssueDTO> query = cb.createQuery(IssueDTO.class);
+        Root<Issue> issue = selectDTO(cb, query);
+
+        Path<LocalDateTime> createdAt = issue.get("createdAt");
+        Path<Long> id = issue.get("id");
+
+        List<Predicate> predicates = filterPredicates(cb, issue, filter);
+
+        // Keyset continuation on (createdAt, id) DESC
+        if (afterCreatedAt != null && afterId != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, afterCreatedAt),
+                    cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, afterId))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<IssueDTO> streamByFilter(IssueFilter filter, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IssueDTO> query = cb.createQuery(IssueDTO.class);
+        Root<Issue> issue = selectDTO(cb, query);
+
+        query.where(filterPredicates(cb, issue, filter).toArray(new Predicate[0]))
+                .orderBy(cb.asc(issue.get("id")));
+
+        // PostgreSQL only uses a server-side cursor when a fetch size is set
+        // inside a transaction; without it the driver buffers every row
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<IssueDTO> findInCells(List<String> cells, double minLat, double minLng, double maxLat,
+            double maxLng, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IssueDTO> query = cb.createQuery(IssueDTO.class);
+        Root<Issue> issue = selectDTO(cb, query);
+
+        query.where(boundsPredicates(cb, issue, cells, minLat, minLng, maxLat, maxLng))
+                .orderBy(cb.desc(issue.get("createdAt")), cb.desc(issue.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<IssueMapCluster> clusterInCells(List<String> cells, double minLat, double minLng, double maxLat,
+            double maxLng, int precision) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IssueMapCluster> query = cb.createQuery(IssueMapCluster.class);
+        Root<Issue> issue = query.from(Issue.class);
+
+        Expression<String> cell = cb.substring(issue.get("geohash"), 1, precision);
+        query.select(cb.construct(IssueMapCluster.class, cell, cb.count(issue),
+                        cb.avg(issue.get("latitude")), cb.avg(issue.get("longitude"))))
+                .where(boundsPredicates(cb, issue, cells, minLat, minLng, maxLat, maxLng))
+                .groupBy(cell);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    // Same shape as IssueRepository.DTO_SELECT
+    private Root<Issue> selectDTO(CriteriaBuilder cb, CriteriaQuery<IssueDTO> query) {
+        Root<Issue> issue = query.from(Issue.class);
+        Join<Issue, User> user = issue.join("user");
+        Join<Issue, City> city = issue.join("city", JoinType.LEFT);
+        Join<Issue, Zone> zone = issue.join("zone", JoinType.LEFT);
+        Join<Issue, Area> area = issue.join("area", JoinType.LEFT);
+
+        query.select(cb.construct(IssueDTO.class,
+                issue.get("id"), issue.get("title"), issue.get("description"), issue.get("category"),
+                issue.get("priority"), issue.get("status"), issue.get("upvotes"),
+                issue.get("createdAt"), issue.get("updatedAt"), issue.get("resolvedAt"),
+                user.get("id"), user.get("username"), city.get("id"), city.get("name"),
+                zone.get("id"), zone.get("name"), area.get("id"), area.get("name"),
+                issue.get("latitude"), issue.get("longitude")));
+        return issue;
+    }
+
+    // One B-tree range per covering cell on idx_issues_geohash, then the exact box
+    private Predicate[] boundsPredicates(CriteriaBuilder cb, Root<Issue> issue, List<String> cells,
+            double minLat, double minLng, double maxLat, double maxLng) {
+        Path<String> geohash = issue.get("geohash");
+
+        List<Predicate> ranges = new ArrayList<>();
+        for (String cell : cells) {
+            String upper = Geohash.upperBound(cell);
+            ranges.add(upper == null
+                    ? cb.greaterThanOrEqualTo(geohash, cell)
+                    : cb.and(cb.greaterThanOrEqualTo(geohash, cell), cb.lessThan(geohash, upper)));
+        }
+
+        return new Predicate[] {
+                cb.or(ranges.toArray(new Predicate[0])),
+                cb.between(issue.get("latitude"), minLat, maxLat),
+                cb.between(issue.get("longitude"), minLng, maxLng)
+        };
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Issue> issue, IssueFilter filter) {
+        Path<LocalDateTime> createdAt = issue.get("createdAt");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(issue.get("status"), filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            predicates.add(cb.equal(issue.get("priority"), filter.getPriority()));
+        }
+        if (filter.getCategory() != null && !filter.getCategory().isBlank()) {
+            predicates.add(cb.equal(issue.get("category"), filter.getCategory()));
+        }
+        // Compare on the foreign key columns so the composite indexes apply
+        if (filter.getCityId() != null) {
+            predicates.add(cb.equal(issue.get("city").get("id"), filter.getCityId()));
+        }
+        if (filter.getZoneId() != null) {
+            predicates.add(cb.equal(issue.get("zone").get("id"), filter.getZoneId()));
+        }
+        if (filter.getAreaId() != null) {
+            predicates.add(cb.equal(issue.get("area").get("id"), filter.getAreaId()));
+        }
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(issue.get("user").get("id"), filter.getUserId()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(createdAt, filter.getCreatedTo()));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,12 @@
+package com.elytra.backend.Repository;
+
+import com.elytra.backend.Models.IssueStatusTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IssueStatusTransitionRepository extends JpaRepository<IssueStatusTransition, Long> {
+    List<IssueStatusTransition> findByIssueIdOrderByChangedAtAscIdAsc(Long issueId);
+}
@@ -0,0 +1,27 @@
+package com.elytra.backend.Repository;
+
+import com.elytra.backend.Models.IssueTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IssueTombstoneRepository extends JpaRepository<IssueTombstone, Long> {
+
+    @Query("SELECT t.issueId FROM IssueTombstone t WHERE t.deletedAt > ?1")
+    List<Long> findIssueIdsDeletedAfter(LocalDateTime since);
+
+    // Tombstones for every issue of a user, ahead of the cascading user delete
+    @Modifying
+    @Query(value = "INSERT INTO issue_tombstones (issue_id, deleted_at) "
+            + "SELECT id, ?2 FROM issues WHERE user_id = ?1 ON CONFLICT (issue_id) DO NOTHING", nativeQuery = true)
+    int insertForUser(Long userId, LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("DELETE FROM IssueTombstone t WHERE t.deletedAt < ?1")
+    int deleteOlderThan(LocalDateTime cutoff);
+}
@@ -2,6 +2,8 @@ package com.elytra.backend.Repository;
 
 import com.elytra.backend.Models.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,9 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(Long userId);
 
     Long countByUserIdAndIsReadFalse(Long userId);
+
+    // Keeps the message when its issue is deleted
+    @Modifying
+    @Query("UPDATE Notification n SET n.issue = NULL WHERE n.issue.id = ?1")
+    int clearIssue(Long issueId);
 }
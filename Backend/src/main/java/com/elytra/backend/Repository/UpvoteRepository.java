@@ -2,9 +2,14 @@ package com.elytra.backend.Repository;
 
 import com.elytra.backend.Models.Upvote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UpvoteRepository extends JpaRepository<Upvote, Long> {
@@ -13,7 +18,21 @@ public interface UpvoteRepository extends JpaRepository<Upvote, Long> {
 
     boolean existsByUserIdAndIssueId(Long userId, Long issueId);
 
+    @Query("SELECT u.issue.id FROM Upvote u WHERE u.user.id = ?1 AND u.issue.id IN ?2")
+    Set<Long> findUpvotedIssueIds(Long userId, Collection<Long> issueIds);
+
+    @Query("SELECT u.issue.id FROM Upvote u WHERE u.user.id = ?1")
+    List<Long> findIssueIdsByUserId(Long userId);
+
     Long countByIssueId(Long issueId);
 
-    void deleteByUserIdAndIssueId(Long userId, Long issueId);
+    // Relies on the (user_id, issue_id) unique constraint; returns 0 when the vote already exists
+    @Modifying
+    @Query(value = "INSERT INTO upvotes (id, user_id, issue_id, created_at) "
+            + "VALUES (nextval('upvotes_seq'), ?1, ?2, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(Long userId, Long issueId);
+
+    @Modifying
+    @Query("DELETE FROM Upvote u WHERE u.user.id = ?1 AND u.issue.id = ?2")
+    int deleteVote(Long userId, Long issueId);
 }
@@ -0,0 +1,59 @@
+package com.elytra.backend.Repository;
+
+import com.elytra.backend.Models.UserIssueStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserIssueStatsRepository extends JpaRepository<UserIssueStats, Long> {
+
+    // Adds the deltas to the user's row, creating it if missing
+    @Modifying
+    @Query(value = "INSERT INTO user_issue_stats (user_id, total, pending, in_progress, resolved, updated_at) "
+            + "VALUES (?1, ?2, ?3, ?4, ?5, now()) "
+            + "ON CONFLICT (user_id) DO UPDATE SET "
+            + "total = user_issue_stats.total + EXCLUDED.total, "
+            + "pending = user_issue_stats.pending + EXCLUDED.pending, "
+            + "in_progress = user_issue_stats.in_progress + EXCLUDED.in_progress, "
+            + "resolved = user_issue_stats.resolved + EXCLUDED.resolved, "
+            + "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int applyDelta(Long userId, long total, long pending, long inProgress, long resolved);
+
+    // The rebuild works on one chunk of users per transaction, in this order:
+    // create missing rows, lock the rows, then recount in a new statement. A delta
+    // upsert that committed before the lock is visible to the recount; one still
+    // in flight waits for the lock and adds its delta on top of the recount.
+    @Query(value = "SELECT id FROM users WHERE id > ?1 ORDER BY id LIMIT ?2", nativeQuery = true)
+    List<Long> findUserIdsAfter(Long afterId, int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_issue_stats (user_id, total, pending, in_progress, resolved, updated_at) "
+            + "SELECT DISTINCT user_id, 0, 0, 0, 0, now() FROM issues WHERE user_id IN (?1) "
+            + "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertMissing(Collection<Long> userIds);
+
+    @Query(value = "SELECT user_id FROM user_issue_stats WHERE user_id IN (?1) ORDER BY user_id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockRows(Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "UPDATE user_issue_stats s SET total = c.total, pending = c.pending, "
+            + "in_progress = c.in_progress, resolved = c.resolved, updated_at = now() "
+            + "FROM (SELECT user_id, COUNT(*) AS total, "
+            + "COUNT(*) FILTER (WHERE status = 'PENDING') AS pending, "
+            + "COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress, "
+            + "COUNT(*) FILTER (WHERE status = 'RESOLVED') AS resolved "
+            + "FROM issues WHERE user_id IN (?1) GROUP BY user_id) c "
+            + "WHERE s.user_id = c.user_id", nativeQuery = true)
+    int recount(Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_issue_stats s WHERE s.user_id IN (?1) "
+            + "AND NOT EXISTS (SELECT 1 FROM issues i WHERE i.user_id = s.user_id)", nativeQuery = true)
+    int deleteWithoutIssues(Collection<Long> userIds);
+}
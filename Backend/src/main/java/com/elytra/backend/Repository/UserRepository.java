@@ -1,9 +1,12 @@
 package com.elytra.backend.Repository;
 
 import com.elytra.backend.Models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +19,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    // Newest users first with their issue total; rows are [User, total], the
+    // total is null for a user without a stats row
+    @Query("SELECT u, s.total FROM User u LEFT JOIN UserIssueStats s ON s.userId = u.id ORDER BY u.id DESC")
+    List<Object[]> findWithIssueTotal(Pageable page);
+
+    @Query("SELECT u, s.total FROM User u LEFT JOIN UserIssueStats s ON s.userId = u.id "
+            + "WHERE u.id < ?1 ORDER BY u.id DESC")
+    List<Object[]> findWithIssueTotalBefore(Long beforeId, Pageable page);
 }
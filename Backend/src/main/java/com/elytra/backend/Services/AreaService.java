@@ -3,11 +3,9 @@ package com.elytra.backend.Services;
 import com.elytra.backend.Models.Area;
 import com.elytra.backend.Models.Zone;
 import com.elytra.backend.Models.Notification;
-import com.elytra.backend.Models.User;
 import com.elytra.backend.Models.Issue;
 import com.elytra.backend.Repository.AreaRepository;
 import com.elytra.backend.Repository.ZoneRepository;
-import com.elytra.backend.Repository.UserRepository;
 import com.elytra.backend.Repository.IssueRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -27,15 +26,18 @@ public class AreaService {
     @Autowired
     private ZoneRepository zoneRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private NotificationService notificationService;
 
     @Autowired
     private IssueRepository issueRepository;
 
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     public List<Area> getAllAreas() {
         return areaRepository.findAll();
     }
@@ -58,9 +60,10 @@ public class AreaService {
 
         area.setZone(zone);
         Area savedArea = areaRepository.save(area);
+        collectionVersions.bump(CollectionVersions.Collection.LOCATIONS);
 
         // Notify all users
-        notifyAllUsers("New area added in " + zone.getName() + ": " + savedArea.getName(),
+        notificationService.notifyAllUsers("New area added in " + zone.getName() + ": " + savedArea.getName(),
                 Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
 
         return savedArea;
@@ -73,9 +76,14 @@ public class AreaService {
         String oldName = area.getName();
         area.setName(areaDetails.getName());
         Area savedArea = areaRepository.save(area);
+        collectionVersions.bump(CollectionVersions.Collection.LOCATIONS);
+
+        // Cached issue DTOs carry the area name
+        issueCache.invalidateAll();
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
 
         // Notify all users
-        notifyAllUsers("Area updated: " + oldName + " → " + savedArea.getName(),
+        notificationService.notifyAllUsers("Area updated: " + oldName + " → " + savedArea.getName(),
                 Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
 
         return savedArea;
@@ -91,18 +99,15 @@ public class AreaService {
             issue.setArea(null);
         }
         issueRepository.saveAll(relatedIssues);
+        issueCache.invalidateAll(relatedIssues.stream().map(Issue::getId).collect(Collectors.toList()));
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
 
         String areaName = area.getName();
         areaRepository.delete(area);
+        collectionVersions.bump(CollectionVersions.Collection.LOCATIONS);
 
         // Notify all users
-        notifyAllUsers("Area removed: " + areaName, Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
-    }
-
-    private void notifyAllUsers(String message, Notification.NotificationType type) {
-        List<User> users = userRepository.findAll();
-        for (User user : users) {
-            notificationService.createNotification(user.getId(), null, message, type);
-        }
+        notificationService.notifyAllUsers("Area removed: " + areaName,
+                Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
     }
 }
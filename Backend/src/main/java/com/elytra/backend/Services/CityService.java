@@ -2,10 +2,8 @@ package com.elytra.backend.Services;
 
 import com.elytra.backend.Models.City;
 import com.elytra.backend.Models.Notification;
-import com.elytra.backend.Models.User;
 import com.elytra.backend.Models.Issue;
 import com.elytra.backend.Repository.CityRepository;
-import com.elytra.backend.Repository.UserRepository;
 import com.elytra.backend.Repository.IssueRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -13,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -22,15 +21,18 @@ public class CityService {
     @Autowired
     private CityRepository cityRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private NotificationService notificationService;
 
     @Autowired
     private IssueRepository issueRepository;
 
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     public List<City> getAllCities() {
         return cityRepository.findAll();
     }
@@ -48,9 +50,11 @@ public class CityService {
             throw new RuntimeException("City already exists with name: " + city.getName());
         }
         City savedCity = cityRepository.save(city);
+        collectionVersions.bump(CollectionVersions.Collection.LOCATIONS);
 
         // Notify all users
-        notifyAllUsers("New city added: " + savedCity.getName(), Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
+        notificationService.notifyAllUsers("New city added: " + savedCity.getName(),
+                Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
 
         return savedCity;
     }
@@ -62,9 +66,14 @@ public class CityService {
         String oldName = city.getName();
         city.setName(cityDetails.getName());
         City savedCity = cityRepository.save(city);
+        collectionVersions.bump(CollectionVersions.Collection.LOCATIONS);
+
+        // Cached issue DTOs carry the city name
+        issueCache.invalidateAll();
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
 
         // Notify all users
-        notifyAllUsers("City updated: " + oldName + " → " + savedCity.getName(),
+        notificationService.notifyAllUsers("City updated: " + oldName + " → " + savedCity.getName(),
                 Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
 
         return savedCity;
@@ -83,18 +92,15 @@ public class CityService {
             issue.setArea(null);
         }
         issueRepository.saveAll(relatedIssues);
+        issueCache.invalidateAll(relatedIssues.stream().map(Issue::getId).collect(Collectors.toList()));
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
 
         String cityName = city.getName();
         cityRepository.delete(city);
+        collectionVersions.bump(CollectionVersions.Collection.LOCATIONS);
 
         // Notify all users
-        notifyAllUsers("City removed: " + cityName, Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
-    }
-
-    private void notifyAllUsers(String message, Notification.NotificationType type) {
-        List<User> users = userRepository.findAll();
-        for (User user : users) {
-            notificationService.createNotification(user.getId(), null, message, type);
-        }
+        notificationService.notifyAllUsers("City removed: " + cityName,
+                Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
     }
 }
@@ -0,0 +1,58 @@
+package com.elytra.backend.Services;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory version stamps for the polled collections, bumped by the service
+// write paths. Controllers derive ETags from them and answer If-None-Match
+// with 304 before touching the database. The stamps restart with the process
+// and are per instance, so a restart or another node only costs a full reply.
+@Component
+public class CollectionVersions {
+
+    public enum Collection {
+        ISSUES, SURVEYS, LOCATIONS
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Collection, AtomicLong> versions = new EnumMap<>(Collection.class);
+
+    public CollectionVersions() {
+        for (Collection collection : Collection.values()) {
+            versions.put(collection, new AtomicLong());
+        }
+    }
+
+    // Bumps now and again after commit, so a response built from the
+    // pre-commit state never carries the final version
+    public void bump(Collection collection) {
+        AtomicLong version = versions.get(collection);
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    // Strong ETag for the collection; variant covers request parameters and
+    // per-user content that change the response body
+    public String etag(Collection collection, Object... variant) {
+        StringBuilder tag = new StringBuilder("\"")
+                .append(collection.name().toLowerCase())
+                .append('-').append(epoch)
+                .append('-').append(versions.get(collection).get());
+        for (Object part : variant) {
+            tag.append('-').append(part);
+        }
+        return tag.append('"').toString();
+    }
+}
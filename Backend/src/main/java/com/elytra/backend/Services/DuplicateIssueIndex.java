@@ -0,0 +1,317 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.Models.Issue;
+import com.elytra.backend.Repository.IssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// MinHash / LSH index over the text of open issues, used to flag likely
+// duplicates at submission time without comparing against every row.
+// Each issue's word shingles are reduced to a MinHash signature; the
+// signature is split into bands and each band is bucketed per zone (or
+// city when there is no zone). Issues sharing any bucket are candidates,
+// and candidates are ranked by the Jaccard similarity their signatures
+// estimate. Resolved issues are not indexed. Changes apply once the writing
+// transaction commits.
+@Service
+public class DuplicateIssueIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateIssueIndex.class);
+
+    private static final long PRIME = (1L << 31) - 1;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "from", "this", "that", "there", "near", "are", "was", "has",
+            "have", "been", "our", "its", "not", "but", "very", "into", "onto", "all", "any");
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    private final int bands;
+    private final int rows;
+    private final double threshold;
+    private final long[] hashA;
+    private final long[] hashB;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+    // Ids changed by live events while a rebuild runs; the rebuild leaves them alone
+    private volatile Set<Long> changedDuringRebuild;
+
+    public DuplicateIssueIndex(@Value("${app.duplicates.bands:16}") int bands,
+            @Value("${app.duplicates.rows:4}") int rows,
+            @Value("${app.duplicates.threshold:0.5}") double threshold) {
+        this.bands = bands;
+        this.rows = rows;
+        this.threshold = threshold;
+
+        // Fixed seed keeps signatures comparable across rebuilds
+        Random random = new Random(0x5EED);
+        int size = bands * rows;
+        this.hashA = new long[size];
+        this.hashB = new long[size];
+        for (int i = 0; i < size; i++) {
+            hashA[i] = 1 + (random.nextLong() & Long.MAX_VALUE) % (PRIME - 1);
+            hashB[i] = (random.nextLong() & Long.MAX_VALUE) % PRIME;
+        }
+    }
+
+    public static class Match {
+        private final Long issueId;
+        private final String title;
+        private final double similarity;
+
+        Match(Long issueId, String title, double similarity) {
+            this.issueId = issueId;
+            this.title = title;
+            this.similarity = similarity;
+        }
+
+        public Long getIssueId() {
+            return issueId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+
+    public List<Match> findSimilar(String title, String description, Long cityId, Long zoneId, int limit) {
+        int[] signature = signature(title, description);
+        if (signature == null) {
+            return new ArrayList<>();
+        }
+        long scope = scope(cityId, zoneId);
+
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            Set<Long> bucket = buckets.get(bucketKey(scope, band, signature));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            Entry entry = entries.get(id);
+            if (entry == null || entry.scope != scope) {
+                continue;
+            }
+            double similarity = estimateJaccard(signature, entry.signature);
+            if (similarity >= threshold) {
+                matches.add(new Match(id, entry.title, similarity));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::getSimilarity).reversed());
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    // Adds or replaces an issue; resolved issues are dropped from the index
+    public void index(Issue issue) {
+        Long id = issue.getId();
+        if (issue.getStatus() == Issue.IssueStatus.RESOLVED) {
+            remove(id);
+            return;
+        }
+        String title = issue.getTitle();
+        String description = issue.getDescription();
+        Long cityId = issue.getCity() != null ? issue.getCity().getId() : null;
+        Long zoneId = issue.getZone() != null ? issue.getZone().getId() : null;
+        afterCommit(id, () -> put(id, title, description, cityId, zoneId));
+    }
+
+    public void onStatusChanged(Long issueId, Issue.IssueStatus status) {
+        if (status == Issue.IssueStatus.RESOLVED) {
+            remove(issueId);
+        }
+    }
+
+    public void remove(Long issueId) {
+        afterCommit(issueId, () -> removeEntry(issueId));
+    }
+
+    private synchronized void removeEntry(Long issueId) {
+        Entry entry = entries.remove(issueId);
+        if (entry == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            long key = bucketKey(entry.scope, band, entry.signature);
+            buckets.computeIfPresent(key, (k, ids) -> {
+                ids.remove(issueId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    // Full rebuild from the open issues, merged into the live index; also heals
+    // drift from cascaded deletes. Issues changed by events since the rebuild
+    // started keep their live entry, which is newer than the streamed row.
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.duplicates.rebuild-ms:21600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Set<Long> seen = new HashSet<>();
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+
+        try (Stream<Object[]> rowsStream = issueRepository.streamOpenIssueText()) {
+            rowsStream.forEach(row -> {
+                Long id = (Long) row[0];
+                seen.add(id);
+                synchronized (this) {
+                    if (!changed.contains(id)) {
+                        put(id, (String) row[1], (String) row[2], (Long) row[3], (Long) row[4]);
+                    }
+                }
+            });
+            synchronized (this) {
+                new ArrayList<>(entries.keySet()).stream()
+                        .filter(id -> !seen.contains(id) && !changed.contains(id))
+                        .forEach(this::removeEntry);
+            }
+        } finally {
+            changedDuringRebuild = null;
+        }
+
+        logger.info("Duplicate issue index rebuilt: {} issues in {} ms", entries.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    private void afterCommit(Long issueId, Runnable change) {
+        Runnable apply = () -> {
+            synchronized (this) {
+                Set<Long> changed = changedDuringRebuild;
+                if (changed != null) {
+                    changed.add(issueId);
+                }
+                change.run();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private synchronized void put(Long id, String title, String description, Long cityId, Long zoneId) {
+        removeEntry(id);
+        int[] signature = signature(title, description);
+        if (signature == null) {
+            return;
+        }
+        Entry entry = new Entry(title, scope(cityId, zoneId), signature);
+        entries.put(id, entry);
+        for (int band = 0; band < bands; band++) {
+            buckets.computeIfAbsent(bucketKey(entry.scope, band, signature), k -> ConcurrentHashMap.newKeySet())
+                    .add(id);
+        }
+    }
+
+    private int[] signature(String title, String description) {
+        Set<Integer> shingles = shingles((title != null ? title : "") + " " + (description != null ? description : ""));
+        if (shingles.isEmpty()) {
+            return null;
+        }
+
+        int[] signature = new int[bands * rows];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int shingle : shingles) {
+            // Reduced into Z_p so (a * x + b) mod p is a proper universal hash
+            long x = (shingle & 0xFFFFFFFFL) % PRIME;
+            for (int i = 0; i < signature.length; i++) {
+                int h = (int) ((hashA[i] * x + hashB[i]) % PRIME);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // Word unigrams and bigrams, lower-cased, short and stop words removed
+    private static Set<Integer> shingles(String text) {
+        List<String> words = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= 3 && !STOP_WORDS.contains(token)) {
+                words.add(token);
+            }
+        }
+
+        Set<Integer> shingles = new HashSet<>();
+        for (int i = 0; i < words.size(); i++) {
+            shingles.add(words.get(i).hashCode());
+            if (i + 1 < words.size()) {
+                shingles.add((words.get(i) + " " + words.get(i + 1)).hashCode());
+            }
+        }
+        return shingles;
+    }
+
+    private static double estimateJaccard(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private static long scope(Long cityId, Long zoneId) {
+        if (zoneId != null) {
+            return zoneId * 2 + 1;
+        }
+        return cityId != null ? cityId * 2 : 0;
+    }
+
+    private long bucketKey(long scope, int band, int[] signature) {
+        int bandHash = 1;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            bandHash = 31 * bandHash + signature[i];
+        }
+        return (scope * 0x9E3779B97F4A7C15L) ^ ((long) band << 32) ^ (bandHash & 0xFFFFFFFFL);
+    }
+
+    private static final class Entry {
+        private final String title;
+        private final long scope;
+        private final int[] signature;
+
+        Entry(String title, long scope, int[] signature) {
+            this.title = title;
+            this.scope = scope;
+            this.signature = signature;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.elytra.backend.Services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Geohash encoding plus the helpers the map viewport query needs. A geohash
+// prefix is a grid cell, and every point inside the cell shares the prefix,
+// so a cell is one contiguous range on a B-tree index over the column.
+public final class Geohash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0, ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // Cell height and width in degrees at the given precision
+    public static double cellHeight(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    // Finest precision at which the box is covered by at most maxCells cells
+    public static int coveringPrecision(double minLat, double minLon, double maxLat, double maxLon, int maxCells) {
+        for (int precision = MAX_PRECISION; precision > 1; precision--) {
+            long rows = (long) Math.floor(maxLat / cellHeight(precision)) - (long) Math.floor(minLat / cellHeight(precision)) + 1;
+            long cols = (long) Math.floor(maxLon / cellWidth(precision)) - (long) Math.floor(minLon / cellWidth(precision)) + 1;
+            if (rows * cols <= maxCells) {
+                return precision;
+            }
+        }
+        return 1;
+    }
+
+    // The cells of the given precision that intersect the box. A NaN or
+    // infinite edge would never reach the other edge, so it is rejected.
+    public static List<String> cover(double minLat, double minLon, double maxLat, double maxLon, int precision) {
+        if (!isValidBox(minLat, minLon, maxLat, maxLon)) {
+            throw new IllegalArgumentException("Invalid bounding box");
+        }
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        Set<String> cells = new LinkedHashSet<>();
+
+        for (double lat = minLat; ; lat = Math.min(lat + height, maxLat)) {
+            for (double lon = minLon; ; lon = Math.min(lon + width, maxLon)) {
+                cells.add(encode(lat, lon, precision));
+                if (lon >= maxLon) {
+                    break;
+                }
+            }
+            if (lat >= maxLat) {
+                break;
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    public static boolean isValidBox(double minLat, double minLon, double maxLat, double maxLon) {
+        return Double.isFinite(minLat) && Double.isFinite(minLon) && Double.isFinite(maxLat) && Double.isFinite(maxLon)
+                && minLat <= maxLat && minLon <= maxLon
+                && minLat >= -90 && maxLat <= 90 && minLon >= -180 && maxLon <= 180;
+    }
+
+    // Smallest string greater than every hash starting with prefix, or null
+    // when there is none ("zz..."); prefix <= hash < upperBound is the cell's range
+    public static String upperBound(String prefix) {
+        StringBuilder bound = new StringBuilder(prefix);
+        while (bound.length() > 0) {
+            int last = bound.length() - 1;
+            int index = BASE32.indexOf(bound.charAt(last));
+            if (index < BASE32.length() - 1) {
+                bound.setCharAt(last, BASE32.charAt(index + 1));
+                return bound.toString();
+            }
+            bound.setLength(last);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.DTO.IssueDTO;
+import com.elytra.backend.Repository.IssueRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Bounded read-through cache of issue detail DTOs. Cached DTOs are shared
+// between requests and must be treated as read-only.
+@Component
+public class IssueCache {
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    private final Cache<Long, IssueDTO> cache;
+
+    public IssueCache(@Value("${app.cache.issues.max-size:10000}") long maxSize,
+            @Value("${app.cache.issues.ttl-minutes:10}") long ttlMinutes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<IssueDTO> get(Long id) {
+        // A missing issue loads as null and is not cached
+        return Optional.ofNullable(cache.get(id, key -> issueRepository.findDtoById(key).orElse(null)));
+    }
+
+    // Evicts now and again after commit, so a concurrent read that reloads
+    // the pre-commit row cannot leave a stale entry behind
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+        afterCommit(() -> cache.invalidate(id));
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+        afterCommit(() -> cache.invalidateAll(ids));
+    }
+
+    // For changes that touch many issues at once (location renames, user deletes)
+    public void invalidateAll() {
+        cache.invalidateAll();
+        afterCommit(cache::invalidateAll);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.DTO.IssueDTO;
+import com.elytra.backend.DTO.IssueFilter;
+import com.elytra.backend.Repository.IssueRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Streams issues from a database cursor straight to the response, one row
+// at a time, so memory stays flat regardless of the export size
+@Service
+public class IssueExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int FLUSH_EVERY = 5000;
+
+    private static final String CSV_HEADER = "id,title,description,category,priority,status,upvotes,"
+            + "createdAt,updatedAt,resolvedAt,userId,username,cityId,cityName,zoneId,zoneName,areaId,areaName,latitude,longitude";
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Called from the StreamingResponseBody thread; the transaction (and its
+    // connection) lives exactly as long as the stream
+    @Transactional(readOnly = true)
+    public long export(IssueFilter filter, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        long rows = 0;
+
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<IssueDTO> issues = issueRepository.streamByFilter(filter, FETCH_SIZE)) {
+            Iterator<IssueDTO> iterator = issues.iterator();
+            while (iterator.hasNext()) {
+                IssueDTO issue = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, issue);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(issue));
+                    writer.write('\n');
+                }
+                if (++rows % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsvRow(Writer writer, IssueDTO issue) throws IOException {
+        Object[] values = {
+                issue.getId(), issue.getTitle(), issue.getDescription(), issue.getCategory(),
+                issue.getPriority(), issue.getStatus(), issue.getUpvotes(),
+                issue.getCreatedAt(), issue.getUpdatedAt(), issue.getResolvedAt(),
+                issue.getUserId(), issue.getUsername(), issue.getCityId(), issue.getCityName(),
+                issue.getZoneId(), issue.getZoneName(), issue.getAreaId(), issue.getAreaName(),
+                issue.getLatitude(), issue.getLongitude()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    // RFC 4180 quoting. Text that a spreadsheet would read as a formula gets a
+    // leading apostrophe; numbers are left alone so negative coordinates stay numeric.
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
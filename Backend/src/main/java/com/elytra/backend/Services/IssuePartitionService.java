@@ -0,0 +1,273 @@
+package com.elytra.backend.Services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Maintains the id-range partitions of issues created by partition_issues.sql:
+// creates the blocks ahead of the id sequence (there is no default partition,
+// so an id past the last block cannot be inserted) and, when
+// app.partitions.archive-after-months is set, moves old fully resolved blocks
+// and their upvotes to the issues_archive schema. Does nothing while issues
+// is not partitioned.
+@Service
+public class IssuePartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IssuePartitionService.class);
+
+    private static final String PARENT = "issues";
+    private static final String ARCHIVE_SCHEMA = "issues_archive";
+
+    private static final String ATTACHED_SQL = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = to_regclass(?) AND NOT i.inhdetachpending ORDER BY c.relname";
+    private static final String PENDING_DETACH_SQL = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = to_regclass(?) AND i.inhdetachpending ORDER BY c.relname";
+    // Block tables in the current schema that are no longer partitions
+    private static final String DETACHED_SQL = "SELECT c.relname FROM pg_class c "
+            + "WHERE c.relnamespace = current_schema()::regnamespace AND c.relkind = 'r' AND NOT c.relispartition "
+            + "AND c.relname LIKE ? || '\\_p%' ORDER BY c.relname";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserIssueStatsService userIssueStatsService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private DuplicateIssueIndex duplicateIssueIndex;
+
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private UpvoteIndex upvoteIndex;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    // Must match the block size used by partition_issues.sql
+    @Value("${app.partitions.ids-per-partition:1000000}")
+    private long idsPerPartition;
+
+    @Value("${app.partitions.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    // 0 keeps every block attached
+    @Value("${app.partitions.archive-after-months:0}")
+    private int archiveAfterMonths;
+
+    @Value("${app.partitions.lock-timeout:5s}")
+    private String lockTimeout;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.partitions.maintenance-ms:86400000}")
+    public void maintain() {
+        try {
+            if (!isPartitioned()) {
+                return;
+            }
+            createUpcomingPartitions();
+            if (archiveAfterMonths > 0) {
+                archiveOldPartitions(LocalDateTime.now().minusMonths(archiveAfterMonths));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Issue partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    public boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, PARENT);
+        return !kinds.isEmpty() && "p".equals(kinds.get(0));
+    }
+
+    private void createUpcomingPartitions() {
+        Long lastId = jdbcTemplate.queryForObject("SELECT last_value FROM issues_seq", Long.class);
+        long current = (lastId != null ? lastId : 0) / idsPerPartition;
+        for (long block = current; block <= current + partitionsAhead; block++) {
+            long from = block * idsPerPartition;
+            long to = from + idsPerPartition;
+            String name = partitionName(block);
+            if (exists(name)) {
+                continue;
+            }
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM (%d) TO (%d)",
+                    name, PARENT, from, to));
+        }
+    }
+
+    // A block is archived once the sequence has moved past it and every issue in
+    // it was resolved before the cutoff. The steps are ordered so that no step
+    // holds a lock on issues for longer than a catalog change:
+    //  1. a NOT VALID check constraint on the block stops any of its issues from
+    //     being reopened from here on; adding it waits for writers already in
+    //     the block, then the conditions are checked again;
+    //  2. its upvotes move to issues_archive.upvotes and its notifications keep
+    //     their message, so nothing references the block any more;
+    //  3. DETACH PARTITION ... CONCURRENTLY, which does not block queries on
+    //     issues but waits for the ones already running. A vote cast between
+    //     2 and 3 fails the foreign key check and the block is retried on the
+    //     next run;
+    //  4. the block moves to issues_archive together with the same bookkeeping
+    //     deleteIssue does: tombstones and user stats in the transaction, the
+    //     caches and in-memory indexes after it.
+    // lock_timeout makes each step give up instead of queueing behind long
+    // queries and blocking every later one.
+    private void archiveOldPartitions(LocalDateTime cutoff) {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + ARCHIVE_SCHEMA);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ARCHIVE_SCHEMA + ".upvotes (LIKE upvotes INCLUDING DEFAULTS)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_archived_upvotes_issue_id ON "
+                + ARCHIVE_SCHEMA + ".upvotes (issue_id)");
+
+        // Blocks left half way by an earlier run
+        for (String partition : blockPartitions(PENDING_DETACH_SQL)) {
+            detach(partition, "FINALIZE");
+            finishArchive(partition);
+        }
+        for (String partition : blockPartitions(DETACHED_SQL)) {
+            finishArchive(partition);
+        }
+
+        Long lastId = jdbcTemplate.queryForObject("SELECT last_value FROM issues_seq", Long.class);
+        long current = (lastId != null ? lastId : 0) / idsPerPartition;
+        for (String partition : blockPartitions(ATTACHED_SQL)) {
+            long block = Long.parseLong(partition.substring(PARENT.length() + 2));
+            if (block >= current || !isArchivable(partition, cutoff)) {
+                continue;
+            }
+            if (!prepareArchive(partition, block * idsPerPartition, (block + 1) * idsPerPartition, cutoff)) {
+                continue;
+            }
+            try {
+                detach(partition, "CONCURRENTLY");
+            } catch (DataAccessException e) {
+                logger.warn("Could not detach issue partition {}, retrying on the next run: {}",
+                        partition, e.getMessage());
+                continue;
+            }
+            finishArchive(partition);
+        }
+    }
+
+    private boolean isArchivable(String partition, LocalDateTime cutoff) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) > 0 AND COUNT(*) FILTER (WHERE status <> 'RESOLVED' OR updated_at >= ?) = 0 "
+                        + "FROM " + partition,
+                Boolean.class, Timestamp.valueOf(cutoff)));
+    }
+
+    // Steps 1 and 2; false, with the constraint dropped again, when an issue
+    // was reopened or updated since the first check
+    private boolean prepareArchive(String partition, long from, long to, LocalDateTime cutoff) {
+        String constraint = partition + "_archiving";
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout + "'");
+            jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT IF EXISTS " + constraint);
+            jdbcTemplate.execute("ALTER TABLE " + partition + " ADD CONSTRAINT " + constraint
+                    + " CHECK (status = 'RESOLVED') NOT VALID");
+        });
+        Boolean archived = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout + "'");
+            if (!isArchivable(partition, cutoff)) {
+                return false;
+            }
+            jdbcTemplate.update("INSERT INTO " + ARCHIVE_SCHEMA + ".upvotes SELECT * FROM upvotes "
+                    + "WHERE issue_id >= ? AND issue_id < ?", from, to);
+            jdbcTemplate.update("DELETE FROM upvotes WHERE issue_id >= ? AND issue_id < ?", from, to);
+            jdbcTemplate.update("UPDATE notifications SET issue_id = NULL WHERE issue_id >= ? AND issue_id < ?",
+                    from, to);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(archived)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout + "'");
+                jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT IF EXISTS " + constraint);
+            });
+            return false;
+        }
+        return true;
+    }
+
+    // DETACH ... CONCURRENTLY cannot run in a transaction block, so it gets a
+    // connection of its own in autocommit mode
+    private void detach(String partition, String mode) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET lock_timeout = '" + lockTimeout + "'");
+                try {
+                    statement.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + partition + " " + mode);
+                } finally {
+                    statement.execute("RESET lock_timeout");
+                }
+            }
+            return null;
+        });
+    }
+
+    // Step 4 for a block that is no longer attached to issues
+    private void finishArchive(String partition) {
+        long block = Long.parseLong(partition.substring(PARENT.length() + 2));
+        long from = block * idsPerPartition;
+        long to = from + idsPerPartition;
+        String archived = ARCHIVE_SCHEMA + "." + partition;
+
+        List<Long> issueIds = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+            jdbcTemplate.update("INSERT INTO issue_tombstones (issue_id, deleted_at) SELECT id, ? FROM " + archived
+                    + " ON CONFLICT (issue_id) DO NOTHING", Timestamp.valueOf(LocalDateTime.now()));
+            userIssueStatsService.onResolvedIssuesArchived(jdbcTemplate.query(
+                    "SELECT user_id, COUNT(*) FROM " + archived + " GROUP BY user_id ORDER BY user_id",
+                    (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getLong(2) }));
+            return jdbcTemplate.queryForList("SELECT id FROM " + archived, Long.class);
+        });
+        List<Long> voterIds = jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM " + ARCHIVE_SCHEMA
+                + ".upvotes WHERE issue_id >= ? AND issue_id < ?", Long.class, from, to);
+
+        for (Long issueId : issueIds) {
+            trendingService.onIssueDeleted(issueId);
+            duplicateIssueIndex.remove(issueId);
+        }
+        issueCache.invalidateAll(issueIds);
+        voterIds.forEach(upvoteIndex::invalidate);
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
+        logger.info("Archived issue partition {} ({} issues)", partition, issueIds.size());
+    }
+
+    private boolean exists(String name) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM pg_class WHERE oid = to_regclass(?)", Integer.class, name)
+                .isEmpty();
+    }
+
+    private List<String> blockPartitions(String sql) {
+        List<String> blocks = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(sql, String.class, PARENT)) {
+            if (name.matches(PARENT + "_p\\d{6,}")) {
+                blocks.add(name);
+            }
+        }
+        return blocks;
+    }
+
+    private static String partitionName(long block) {
+        return String.format("%s_p%06d", PARENT, block);
+    }
+}
@@ -1,20 +1,45 @@
 package com.elytra.backend.Services;
 
+import com.elytra.backend.DTO.CursorPage;
+import com.elytra.backend.DTO.IssueChanges;
+import com.elytra.backend.DTO.IssueDTO;
+import com.elytra.backend.DTO.IssueFilter;
+import com.elytra.backend.DTO.IssueMapView;
+import com.elytra.backend.DTO.IssueSearchResult;
 import com.elytra.backend.Models.*;
 import com.elytra.backend.Repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @SuppressWarnings("null")
 public class IssueService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BULK_UPDATE_SIZE = 1000;
+    public static final int MAP_CLUSTER_BELOW_ZOOM = 15;
+    public static final int MAP_MAX_ISSUES = 500;
+    private static final int MAP_MAX_CELLS = 32;
+    private static final int GEOHASH_PRECISION = 12;
+    // Writes that commit later than their timestamps are caught by re-reading this window
+    private static final int SYNC_SETTLE_SECONDS = 5;
+
     @Autowired
     private IssueRepository issueRepository;
 
@@ -33,28 +58,242 @@ public class IssueService {
     @Autowired
     private NotificationService notificationService;
 
-    public List<Issue> getAllIssues() {
-        return issueRepository.findAllOrderByCreatedAtDesc();
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private DuplicateIssueIndex duplicateIssueIndex;
+
+    @Autowired
+    private UserIssueStatsService userIssueStatsService;
+
+    @Autowired
+    private IssueTombstoneRepository issueTombstoneRepository;
+
+    @Autowired
+    private IssueTransitionService issueTransitionService;
+
+    @Autowired
+    private VoteCounterBuffer voteCounterBuffer;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    @Transactional(readOnly = true)
+    public CursorPage<IssueDTO> getAllIssues(String cursor, int limit) {
+        int size = clampPageSize(limit);
+        PageRequest page = PageRequest.of(0, size + 1);
+
+        List<IssueDTO> issues;
+        if (cursor == null || cursor.isBlank()) {
+            issues = issueRepository.findFeedFirstPage(page);
+        } else {
+            String[] parts = decodeCursor(cursor, 2);
+            issues = issueRepository.findFeedAfter(parseTimestamp(parts[0]), parseLong(parts[1]), page);
+        }
+
+        return toPage(issues, size, last -> encodeCursor(last.getCreatedAt().toString(), last.getId().toString()));
+    }
+
+    // Delta sync. The watermark is (updatedAt, id, issuedAt): issues are read
+    // after (updatedAt, id); deletions are read from issuedAt. Both reads reach
+    // back SYNC_SETTLE_SECONDS so a transaction that committed after its
+    // timestamp is not skipped; clients apply changes idempotently by id.
+    @Transactional(readOnly = true)
+    public IssueChanges getChangesSince(String watermark, int limit) {
+        int size = clampPageSize(limit);
+        PageRequest page = PageRequest.of(0, size + 1);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime settled = now.minusSeconds(SYNC_SETTLE_SECONDS);
+
+        LocalDateTime sinceUpdatedAt = null;
+        long sinceId = 0;
+        boolean reset = true;
+        List<IssueDTO> issues;
+        List<Long> deletedIds = List.of();
+
+        if (watermark == null || watermark.isBlank()) {
+            issues = issueRepository.findChangesFirstPage(page);
+        } else {
+            String[] parts = decodeCursor(watermark, 3);
+            sinceUpdatedAt = parseTimestamp(parts[0]);
+            sinceId = parseLong(parts[1]);
+            LocalDateTime issuedAt = parseTimestamp(parts[2]);
+
+            // Tombstones older than the retention may be gone; patching would miss deletions
+            reset = issuedAt.isBefore(now.minusDays(tombstoneRetentionDays));
+            issues = issueRepository.findChangesAfter(sinceUpdatedAt, sinceId, page);
+            if (!reset) {
+                deletedIds = issueTombstoneRepository.findIssueIdsDeletedAfter(
+                        issuedAt.minusSeconds(SYNC_SETTLE_SECONDS));
+            }
+        }
+
+        boolean hasMore = issues.size() > size;
+        if (hasMore) {
+            issues = issues.subList(0, size);
+        }
+
+        LocalDateTime nextUpdatedAt = sinceUpdatedAt != null ? sinceUpdatedAt : settled;
+        long nextId = sinceId;
+        if (!issues.isEmpty()) {
+            IssueDTO last = issues.get(issues.size() - 1);
+            nextUpdatedAt = last.getUpdatedAt();
+            nextId = last.getId();
+            // Caught up: hold the watermark at the settle window so late commits are re-read
+            if (!hasMore && nextUpdatedAt.isAfter(settled)) {
+                nextUpdatedAt = settled;
+                nextId = 0;
+            }
+        }
+
+        String next = encodeCursor(nextUpdatedAt.toString(), String.valueOf(nextId), now.toString());
+        voteCounterBuffer.applyPending(issues);
+        return new IssueChanges(issues, deletedIds, next, hasMore, reset);
     }
 
-    public List<Issue> getIssuesSortedByUpvotes() {
-        return issueRepository.findAllOrderByUpvotesDesc();
+    @Scheduled(cron = "${app.sync.tombstone-prune-cron:0 15 3 * * *}")
+    public void pruneTombstones() {
+        issueTombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
     }
 
-    public Optional<Issue> getIssueById(Long id) {
-        return issueRepository.findById(id);
+    @Transactional(readOnly = true)
+    public CursorPage<IssueDTO> getIssuesSortedByUpvotes(String cursor, int limit) {
+        int size = clampPageSize(limit);
+        PageRequest page = PageRequest.of(0, size + 1);
+
+        List<IssueDTO> issues;
+        if (cursor == null || cursor.isBlank()) {
+            issues = issueRepository.findByUpvotesFirstPage(page);
+        } else {
+            String[] parts = decodeCursor(cursor, 3);
+            issues = issueRepository.findByUpvotesAfter(
+                    (int) parseLong(parts[0]), parseTimestamp(parts[1]), parseLong(parts[2]), page);
+        }
+
+        return toPage(issues, size, last -> encodeCursor(
+                last.getUpvotes().toString(), last.getCreatedAt().toString(), last.getId().toString()));
     }
 
-    public List<Issue> getIssuesByUserId(Long userId) {
-        return issueRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    @Transactional(readOnly = true)
+    public CursorPage<IssueDTO> filterIssues(IssueFilter filter, String cursor, int limit) {
+        if (filter.getCreatedFrom() != null && filter.getCreatedTo() != null
+                && filter.getCreatedFrom().isAfter(filter.getCreatedTo())) {
+            throw new IllegalArgumentException("createdFrom must not be after createdTo");
+        }
+
+        int size = clampPageSize(limit);
+
+        List<IssueDTO> issues;
+        if (cursor == null || cursor.isBlank()) {
+            issues = issueRepository.findByFilter(filter, null, null, size + 1);
+        } else {
+            String[] parts = decodeCursor(cursor, 2);
+            issues = issueRepository.findByFilter(filter, parseTimestamp(parts[0]), parseLong(parts[1]), size + 1);
+        }
+
+        return toPage(issues, size, last -> encodeCursor(last.getCreatedAt().toString(), last.getId().toString()));
     }
 
-    public List<Issue> getIssuesByStatus(Issue.IssueStatus status) {
-        return issueRepository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public CursorPage<IssueSearchResult> searchIssues(String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+
+        int size = clampPageSize(limit);
+        int offset = (cursor == null || cursor.isBlank()) ? 0 : parseOffset(decodeCursor(cursor, 1)[0]);
+
+        List<IssueRepository.SearchHit> hits = issueRepository.searchByText(query.trim(), size + 1, offset);
+        String next = null;
+        if (hits.size() > size) {
+            hits = hits.subList(0, size);
+            next = encodeCursor(String.valueOf(offset + size));
+        }
+
+        // Second statement loads the page's DTOs; hits keep the rank order
+        Map<Long, IssueDTO> dtos = issueRepository.findDtosByIdIn(
+                hits.stream().map(IssueRepository.SearchHit::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(IssueDTO::getId, Function.identity()));
+        voteCounterBuffer.applyPending(dtos.values());
+
+        List<IssueSearchResult> results = hits.stream()
+                .filter(hit -> dtos.containsKey(hit.getId()))
+                .map(hit -> new IssueSearchResult(dtos.get(hit.getId()), hit.getTitleHighlight(),
+                        hit.getSnippet(), hit.getRank()))
+                .collect(Collectors.toList());
+
+        return new CursorPage<>(results, next);
     }
 
-    public List<Issue> getIssuesByCityId(Long cityId) {
-        return issueRepository.findByCityId(cityId);
+    // Map viewport: individual issues at high zoom, per-cell counts below it.
+    // Either way a single query over the geohash ranges covering the box.
+    @Transactional(readOnly = true)
+    public IssueMapView getIssuesInBounds(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        if (!Geohash.isValidBox(minLat, minLng, maxLat, maxLng)) {
+            throw new IllegalArgumentException("Invalid bounding box");
+        }
+
+        int precision = Geohash.coveringPrecision(minLat, minLng, maxLat, maxLng, MAP_MAX_CELLS);
+        List<String> cells = Geohash.cover(minLat, minLng, maxLat, maxLng, precision);
+
+        if (zoom >= MAP_CLUSTER_BELOW_ZOOM) {
+            List<IssueDTO> issues = issueRepository.findInCells(cells, minLat, minLng, maxLat, maxLng,
+                    MAP_MAX_ISSUES + 1);
+            boolean truncated = issues.size() > MAP_MAX_ISSUES;
+            voteCounterBuffer.applyPending(issues);
+            return new IssueMapView("issues", truncated ? issues.subList(0, MAP_MAX_ISSUES) : issues,
+                    List.of(), truncated);
+        }
+
+        // One level finer than the covering cells gives a few hundred clusters at most
+        int clusterPrecision = Math.min(precision + 1, GEOHASH_PRECISION);
+        return new IssueMapView("clusters", List.of(),
+                issueRepository.clusterInCells(cells, minLat, minLng, maxLat, maxLng, clusterPrecision), false);
+    }
+
+    public Optional<IssueDTO> getIssueById(Long id) {
+        return issueCache.get(id).map(voteCounterBuffer::withPending);
+    }
+
+    // Per-user, per-status and per-city lists are single-facet filters, so they
+    // share the feed's (createdAt, id) cursor and page size limits
+    @Transactional(readOnly = true)
+    public CursorPage<IssueDTO> getIssuesByUserId(Long userId, String cursor, int limit) {
+        IssueFilter filter = new IssueFilter();
+        filter.setUserId(userId);
+        return filterIssues(filter, cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<IssueDTO> getIssuesByStatus(Issue.IssueStatus status, String cursor, int limit) {
+        IssueFilter filter = new IssueFilter();
+        filter.setStatus(status);
+        return filterIssues(filter, cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<IssueDTO> getIssuesByCityId(Long cityId, String cursor, int limit) {
+        IssueFilter filter = new IssueFilter();
+        filter.setCityId(cityId);
+        return filterIssues(filter, cursor, limit);
+    }
+
+    // Likely duplicates among open issues in the same zone (or city)
+    public List<DuplicateIssueIndex.Match> findSimilarIssues(String title, String description, Long cityId,
+            Long zoneId, int limit) {
+        return duplicateIssueIndex.findSimilar(title, description, cityId, zoneId,
+                Math.max(1, Math.min(limit, 20)));
     }
 
     public Issue createIssue(Issue issue, Long userId, Long cityId, Long zoneId, Long areaId) {
@@ -81,25 +320,43 @@ public class IssueService {
             issue.setArea(area);
         }
 
-        return issueRepository.save(issue);
+        applyLocation(issue, issue.getLatitude(), issue.getLongitude());
+
+        Issue savedIssue = issueRepository.save(issue);
+        trendingService.onIssueCreated(savedIssue);
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
+        userIssueStatsService.onIssueCreated(userId, savedIssue.getStatus());
+        issueTransitionService.onIssueCreated(savedIssue);
+        duplicateIssueIndex.index(savedIssue);
+        return savedIssue;
     }
 
     public Issue updateIssue(Long id, Issue issueDetails) {
         Issue issue = issueRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Issue not found with id: " + id));
 
+        Issue.IssueStatus oldStatus = issue.getStatus();
         issue.setTitle(issueDetails.getTitle());
         issue.setDescription(issueDetails.getDescription());
         issue.setCategory(issueDetails.getCategory());
         issue.setPriority(issueDetails.getPriority());
         issue.setStatus(issueDetails.getStatus());
 
-        // Set resolved timestamp when status changes to RESOLVED
-        if (issueDetails.getStatus() == Issue.IssueStatus.RESOLVED && issue.getResolvedAt() == null) {
-            issue.setResolvedAt(LocalDateTime.now());
+        // Coordinates are optional on update; omitting them keeps the current location
+        if (issueDetails.getLatitude() != null && issueDetails.getLongitude() != null) {
+            applyLocation(issue, issueDetails.getLatitude(), issueDetails.getLongitude());
         }
 
-        return issueRepository.save(issue);
+        applyResolvedAt(issue, oldStatus);
+
+        Issue savedIssue = issueRepository.save(issue);
+        trendingService.onIssueUpdated(savedIssue);
+        issueCache.invalidate(id);
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
+        duplicateIssueIndex.index(savedIssue);
+        userIssueStatsService.onStatusChanged(issue.getUser().getId(), oldStatus, savedIssue.getStatus());
+        issueTransitionService.onStatusChanged(savedIssue, oldStatus);
+        return savedIssue;
     }
 
     public Issue updateIssueStatus(Long id, Issue.IssueStatus status) {
@@ -108,12 +365,15 @@ public class IssueService {
 
         Issue.IssueStatus oldStatus = issue.getStatus();
         issue.setStatus(status);
-
-        if (status == Issue.IssueStatus.RESOLVED && issue.getResolvedAt() == null) {
-            issue.setResolvedAt(LocalDateTime.now());
-        }
+        applyResolvedAt(issue, oldStatus);
 
         Issue savedIssue = issueRepository.save(issue);
+        trendingService.onIssueUpdated(savedIssue);
+        issueCache.invalidate(id);
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
+        duplicateIssueIndex.onStatusChanged(id, status);
+        userIssueStatsService.onStatusChanged(issue.getUser().getId(), oldStatus, status);
+        issueTransitionService.onStatusChanged(savedIssue, oldStatus);
 
         // Create notification if status changed
         if (oldStatus != status && issue.getUser() != null) {
@@ -126,10 +386,51 @@ public class IssueService {
         return savedIssue;
     }
 
+    // Set-based transition: one SELECT for the affected creators, one UPDATE,
+    // one batched notification insert, all in this transaction
+    public int bulkUpdateStatus(List<Long> ids, Issue.IssueStatus status) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        if (ids.size() > MAX_BULK_UPDATE_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_UPDATE_SIZE + " issues can be updated at once");
+        }
+
+        List<Object[]> changing = issueRepository.findIdAndUserIdForStatusChange(ids, status);
+        if (changing.isEmpty()) {
+            return 0;
+        }
+        List<Long> changingIds = changing.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = issueRepository.updateStatusByIdIn(changingIds, status, now,
+                status == Issue.IssueStatus.RESOLVED ? now : null);
+
+        notificationService.createIssueStatusNotifications(changing, status);
+        userIssueStatsService.onStatusChanged(changing, status);
+        issueTransitionService.onStatusChanged(changing, status);
+
+        issueCache.invalidateAll(changingIds);
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
+        changingIds.forEach(id -> {
+            trendingService.onStatusChanged(id, status);
+            duplicateIssueIndex.onStatusChanged(id, status);
+        });
+
+        return updated;
+    }
+
     public void deleteIssue(Long id) {
         Issue issue = issueRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Issue not found with id: " + id));
+        notificationRepository.clearIssue(id);
         issueRepository.delete(issue);
+        issueTombstoneRepository.save(new IssueTombstone(id, LocalDateTime.now()));
+        userIssueStatsService.onIssueDeleted(issue.getUser().getId(), issue.getStatus());
+        trendingService.onIssueDeleted(id);
+        issueCache.invalidate(id);
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
+        duplicateIssueIndex.remove(id);
     }
 
     public Long countIssuesByUserId(Long userId) {
@@ -140,6 +441,98 @@ public class IssueService {
         return issueRepository.countByUserIdAndStatus(userId, status);
     }
 
+    // resolvedAt is the time of the latest resolution: set when an issue becomes
+    // resolved and cleared when it is reopened, so a resolve, reopen, resolve
+    // cycle yields one resolution time, the last one
+    private static void applyResolvedAt(Issue issue, Issue.IssueStatus oldStatus) {
+        if (issue.getStatus() != Issue.IssueStatus.RESOLVED) {
+            issue.setResolvedAt(null);
+        } else if (oldStatus != Issue.IssueStatus.RESOLVED || issue.getResolvedAt() == null) {
+            issue.setResolvedAt(LocalDateTime.now());
+        }
+    }
+
+    private static void applyLocation(Issue issue, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            issue.setLatitude(null);
+            issue.setLongitude(null);
+            issue.setGeohash(null);
+            return;
+        }
+        if (!Geohash.isValidBox(latitude, longitude, latitude, longitude)) {
+            throw new RuntimeException("Invalid coordinates");
+        }
+        issue.setLatitude(latitude);
+        issue.setLongitude(longitude);
+        issue.setGeohash(Geohash.encode(latitude, longitude, GEOHASH_PRECISION));
+    }
+
+    // Cursor helpers for keyset pagination, shared with the other services in
+    // this package. One extra row is fetched to detect whether a following
+    // page exists.
+    static int clampPageSize(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // The cursor is taken from stored values, before buffered votes are added
+    private CursorPage<IssueDTO> toPage(List<IssueDTO> issues, int size,
+            Function<IssueDTO, String> cursorOf) {
+        if (issues.size() <= size) {
+            voteCounterBuffer.applyPending(issues);
+            return new CursorPage<>(issues, null);
+        }
+        List<IssueDTO> items = issues.subList(0, size);
+        String next = cursorOf.apply(items.get(size - 1));
+        voteCounterBuffer.applyPending(items);
+        return new CursorPage<>(items, next);
+    }
+
+    static String encodeCursor(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join("|", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    // Forged offsets must not reach SQL OFFSET or overflow offset + page size
+    private static int parseOffset(String value) {
+        long offset = parseLong(value);
+        if (offset < 0 || offset > Integer.MAX_VALUE - MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return (int) offset;
+    }
+
     // Convert Issue entity to DTO
     public java.util.Map<String, Object> convertToDTO(Issue issue) {
         java.util.Map<String, Object> dto = new java.util.HashMap<>();
@@ -174,6 +567,9 @@ public class IssueService {
             dto.put("areaName", issue.getArea().getName());
         }
 
+        dto.put("latitude", issue.getLatitude());
+        dto.put("longitude", issue.getLongitude());
+
         return dto;
     }
 }
@@ -0,0 +1,271 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.Models.Issue;
+import com.elytra.backend.Models.IssueStatusTransition;
+import com.elytra.backend.Models.User;
+import com.elytra.backend.Repository.IssueRepository;
+import com.elytra.backend.Repository.IssueStatusTransitionRepository;
+import org.HdrHistogram.Histogram;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Records every issue status change and keeps resolution-time sketches.
+// Each (city, zone, category) has an HdrHistogram of minutes from creation
+// to resolution; percentile queries merge the matching sketches instead of
+// scanning resolved issues, so their cost depends on the number of groups,
+// not the number of issues. Sketches are rebuilt from the issues table on a
+// schedule, which also drops samples of issues that were reopened.
+@Service
+@Transactional
+@SuppressWarnings("null")
+public class IssueTransitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IssueTransitionService.class);
+
+    // Five years in minutes; longer resolutions are clamped to this
+    private static final long MAX_RESOLUTION_MINUTES = 5L * 365 * 24 * 60;
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    @Autowired
+    private IssueStatusTransitionRepository transitionRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    private volatile Map<SketchKey, Histogram> sketches = new ConcurrentHashMap<>();
+
+    // Guards live samples against the rebuild swap
+    private final Object sampleLock = new Object();
+
+    // Samples recorded while a rebuild streams, added to its sketches unless
+    // the stream already saw the issue; guarded by sampleLock
+    private List<Sample> replay;
+
+    private record SketchKey(Long cityId, Long zoneId, String category) {
+    }
+
+    private record Sample(Long issueId, SketchKey key, LocalDateTime createdAt, LocalDateTime resolvedAt) {
+    }
+
+    public static class ResolutionStats {
+        private final long count;
+        private final double meanHours;
+        private final Map<String, Double> percentileHours;
+
+        ResolutionStats(long count, double meanHours, Map<String, Double> percentileHours) {
+            this.count = count;
+            this.meanHours = meanHours;
+            this.percentileHours = percentileHours;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanHours() {
+            return meanHours;
+        }
+
+        public Map<String, Double> getPercentileHours() {
+            return percentileHours;
+        }
+    }
+
+    public void onIssueCreated(Issue issue) {
+        transitionRepository.save(new IssueStatusTransition(null, issue.getId(), null, issue.getStatus(),
+                currentUserId(), LocalDateTime.now()));
+    }
+
+    public void onStatusChanged(Issue issue, Issue.IssueStatus from) {
+        Issue.IssueStatus to = issue.getStatus();
+        if (from == to) {
+            return;
+        }
+        transitionRepository.save(new IssueStatusTransition(null, issue.getId(), from, to,
+                currentUserId(), LocalDateTime.now()));
+
+        if (to == Issue.IssueStatus.RESOLVED) {
+            SketchKey key = new SketchKey(
+                    issue.getCity() != null ? issue.getCity().getId() : null,
+                    issue.getZone() != null ? issue.getZone().getId() : null,
+                    issue.getCategory());
+            // IssueService sets resolvedAt on every transition to RESOLVED
+            Sample sample = new Sample(issue.getId(), key, issue.getCreatedAt(), issue.getResolvedAt());
+            afterCommit(() -> recordLive(List.of(sample)));
+        }
+    }
+
+    // rows are [id, userId, previousStatus] for issues moving to the given status
+    public void onStatusChanged(List<Object[]> rows, Issue.IssueStatus to) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Long changedBy = currentUserId();
+        LocalDateTime now = LocalDateTime.now();
+        List<IssueStatusTransition> transitions = rows.stream()
+                .map(row -> new IssueStatusTransition(null, (Long) row[0], (Issue.IssueStatus) row[2], to,
+                        changedBy, now))
+                .collect(Collectors.toList());
+        transitionRepository.saveAll(transitions);
+
+        if (to == Issue.IssueStatus.RESOLVED) {
+            List<Long> ids = rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+            List<Sample> samples = issueRepository.findResolutionSamplesByIdIn(ids).stream()
+                    .map(IssueTransitionService::sample)
+                    .collect(Collectors.toList());
+            afterCommit(() -> recordLive(samples));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<IssueStatusTransition> getHistory(Long issueId) {
+        return transitionRepository.findByIssueIdOrderByChangedAtAscIdAsc(issueId);
+    }
+
+    // Null filters match every value; percentiles are in (0, 100]
+    @Transactional(readOnly = true)
+    public ResolutionStats getResolutionStats(Long cityId, Long zoneId, String category, List<Double> percentiles) {
+        Histogram merged = newHistogram();
+        sketches.forEach((key, histogram) -> {
+            if ((cityId == null || cityId.equals(key.cityId()))
+                    && (zoneId == null || zoneId.equals(key.zoneId()))
+                    && (category == null || category.equalsIgnoreCase(Objects.toString(key.category(), "")))) {
+                synchronized (histogram) {
+                    merged.add(histogram);
+                }
+            }
+        });
+
+        Map<String, Double> result = new LinkedHashMap<>();
+        long count = merged.getTotalCount();
+        for (Double p : percentiles) {
+            if (p == null || p <= 0 || p > 100) {
+                throw new IllegalArgumentException("Percentiles must be in (0, 100]");
+            }
+            result.put("p" + formatPercentile(p),
+                    count == 0 ? null : merged.getValueAtPercentile(p) / 60.0);
+        }
+        return new ResolutionStats(count, count == 0 ? 0 : merged.getMean() / 60.0, result);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.resolution-stats.rebuild-ms:86400000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (sampleLock) {
+            replay = new ArrayList<>();
+        }
+        Map<SketchKey, Histogram> rebuilt = new ConcurrentHashMap<>();
+        Roaring64Bitmap streamed = new Roaring64Bitmap();
+        long samples;
+        try (Stream<Object[]> rows = issueRepository.streamResolutionSamples()) {
+            samples = rows.map(IssueTransitionService::sample)
+                    .filter(sample -> {
+                        streamed.addLong(sample.issueId());
+                        return record(rebuilt, sample);
+                    })
+                    .count();
+        } catch (RuntimeException e) {
+            synchronized (sampleLock) {
+                replay = null;
+            }
+            throw e;
+        }
+
+        synchronized (sampleLock) {
+            // A sample committed before the stream started is already in it. A
+            // re-resolution of such an issue during the stream is picked up by
+            // the next rebuild.
+            for (Sample sample : replay) {
+                if (!streamed.contains(sample.issueId()) && record(rebuilt, sample)) {
+                    samples++;
+                }
+            }
+            sketches = rebuilt;
+            replay = null;
+        }
+        logger.info("Rebuilt resolution-time sketches: {} samples in {} groups", samples, rebuilt.size());
+    }
+
+    private void recordLive(List<Sample> samples) {
+        synchronized (sampleLock) {
+            for (Sample sample : samples) {
+                record(sketches, sample);
+                if (replay != null) {
+                    replay.add(sample);
+                }
+            }
+        }
+    }
+
+    // row is [cityId, zoneId, category, createdAt, resolvedAt, issueId]
+    private static Sample sample(Object[] row) {
+        return new Sample((Long) row[5], new SketchKey((Long) row[0], (Long) row[1], (String) row[2]),
+                (LocalDateTime) row[3], (LocalDateTime) row[4]);
+    }
+
+    private static boolean record(Map<SketchKey, Histogram> target, Sample sample) {
+        return record(target, sample.key(), sample.createdAt(), sample.resolvedAt());
+    }
+
+    private static boolean record(Map<SketchKey, Histogram> target, SketchKey key, LocalDateTime createdAt,
+            LocalDateTime resolvedAt) {
+        if (createdAt == null || resolvedAt == null) {
+            return false;
+        }
+        long minutes = Math.max(0, Duration.between(createdAt, resolvedAt).toMinutes());
+        Histogram histogram = target.computeIfAbsent(key, k -> newHistogram());
+        synchronized (histogram) {
+            histogram.recordValue(Math.min(minutes, MAX_RESOLUTION_MINUTES));
+        }
+        return true;
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(MAX_RESOLUTION_MINUTES, SIGNIFICANT_DIGITS);
+    }
+
+    private static String formatPercentile(double p) {
+        return p == Math.rint(p) ? String.valueOf((long) p) : String.valueOf(p);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.elytra.backend.Services;
 
+import com.elytra.backend.DTO.NotificationDTO;
+import com.elytra.backend.Models.BroadcastNotification;
+import com.elytra.backend.Models.BroadcastReadMarker;
 import com.elytra.backend.Models.Issue;
 import com.elytra.backend.Models.Notification;
 import com.elytra.backend.Models.User;
+import com.elytra.backend.Repository.BroadcastDismissalRepository;
+import com.elytra.backend.Repository.BroadcastNotificationRepository;
+import com.elytra.backend.Repository.BroadcastReadMarkerRepository;
 import com.elytra.backend.Repository.IssueRepository;
 import com.elytra.backend.Repository.NotificationRepository;
 import com.elytra.backend.Repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -26,16 +39,61 @@ public class NotificationService {
     @Autowired
     private IssueRepository issueRepository;
 
-    public List<Notification> getUserNotifications(Long userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BroadcastNotificationRepository broadcastRepository;
+
+    @Autowired
+    private BroadcastReadMarkerRepository broadcastReadMarkerRepository;
+
+    @Autowired
+    private BroadcastDismissalRepository broadcastDismissalRepository;
+
+    @Autowired
+    private NotificationStreamService notificationStream;
+
+    @Value("${app.notifications.broadcast-retention-days:90}")
+    private int broadcastRetentionDays;
+
+    // Personal notifications merged with the broadcasts visible to the user, newest first
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getUserNotifications(Long userId) {
+        List<NotificationDTO> result = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(NotificationDTO::fromEntity)
+                .collect(Collectors.toList());
+        long lastSeenId = lastSeenBroadcastId(userId);
+        broadcastRepository.findVisible(broadcastsSince(userId), userId)
+                .forEach(b -> result.add(NotificationDTO.fromBroadcast(b, b.getId() <= lastSeenId)));
+        return newestFirst(result);
     }
 
-    public List<Notification> getUnreadNotifications(Long userId) {
-        return notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId);
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getUnreadNotifications(Long userId) {
+        List<NotificationDTO> result = notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId)
+                .stream()
+                .map(NotificationDTO::fromEntity)
+                .collect(Collectors.toList());
+        broadcastRepository.findVisibleAfter(broadcastsSince(userId), userId, lastSeenBroadcastId(userId))
+                .forEach(b -> result.add(NotificationDTO.fromBroadcast(b, false)));
+        return newestFirst(result);
     }
 
+    @Transactional(readOnly = true)
     public Long getUnreadCount(Long userId) {
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        return notificationRepository.countByUserIdAndIsReadFalse(userId)
+                + broadcastRepository.countVisibleAfter(broadcastsSince(userId), userId, lastSeenBroadcastId(userId));
+    }
+
+    // One row however many users there are; readers merge it in
+    public BroadcastNotification notifyAllUsers(String message, Notification.NotificationType type) {
+        BroadcastNotification broadcast = new BroadcastNotification();
+        broadcast.setMessage(message);
+        broadcast.setType(type);
+        BroadcastNotification saved = broadcastRepository.save(broadcast);
+        notificationStream.publishToAll(NotificationDTO.fromBroadcast(saved, false));
+        return saved;
     }
 
     public Notification createNotification(Long userId, Long issueId, String message,
@@ -54,42 +112,150 @@ public class NotificationService {
             notification.setIssue(issue);
         }
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        notificationStream.publishNotification(userId, NotificationDTO.fromEntity(saved));
+        return saved;
     }
 
-    public Notification markAsRead(Long notificationId) {
+    // A broadcast id marks that broadcast and every older one as read for the user
+    public NotificationDTO markAsRead(Long userId, Long notificationId) {
+        if (NotificationDTO.isBroadcastId(notificationId)) {
+            BroadcastNotification broadcast = findBroadcast(userId, notificationId);
+            broadcastReadMarkerRepository.advance(userId, broadcast.getId());
+            pushUnreadCount(userId);
+            return NotificationDTO.fromBroadcast(broadcast, true);
+        }
+
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + notificationId));
 
         notification.setIsRead(true);
-        return notificationRepository.save(notification);
+        NotificationDTO result = NotificationDTO.fromEntity(notificationRepository.save(notification));
+        pushUnreadCount(result.getUserId());
+        return result;
     }
 
-    public void deleteNotification(Long notificationId) {
+    // Deleting a broadcast only hides it from this user
+    public void deleteNotification(Long userId, Long notificationId) {
+        if (NotificationDTO.isBroadcastId(notificationId)) {
+            BroadcastNotification broadcast = findBroadcast(userId, notificationId);
+            broadcastDismissalRepository.insertIfAbsent(userId, broadcast.getId());
+            pushUnreadCount(userId);
+            return;
+        }
+
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + notificationId));
         notificationRepository.delete(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead()) && notification.getUser() != null) {
+            pushUnreadCount(notification.getUser().getId());
+        }
+    }
+
+    public void onUserDeleted(Long userId) {
+        broadcastReadMarkerRepository.findById(userId).ifPresent(broadcastReadMarkerRepository::delete);
+        broadcastDismissalRepository.deleteByUserId(userId);
     }
 
     public void createIssueStatusNotification(Long userId, Long issueId, Issue.IssueStatus newStatus) {
-        String message;
-        Notification.NotificationType type;
+        createNotification(userId, issueId, statusMessage(newStatus), statusNotificationType(newStatus));
+    }
+
+    // One JDBC batch for all creators; each row is [issueId, userId]. Ids are
+    // drawn up front in one query so the new rows can be pushed to open streams.
+    public void createIssueStatusNotifications(List<Object[]> issueAndUserIds, Issue.IssueStatus newStatus) {
+        if (issueAndUserIds.isEmpty()) {
+            return;
+        }
+        String message = statusMessage(newStatus);
+        Notification.NotificationType type = statusNotificationType(newStatus);
+        LocalDateTime createdAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(createdAt);
 
-        switch (newStatus) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval('notifications_seq') FROM generate_series(1, ?)", Long.class,
+                issueAndUserIds.size());
+        List<NotificationDTO> created = new ArrayList<>(issueAndUserIds.size());
+        for (int i = 0; i < issueAndUserIds.size(); i++) {
+            Object[] row = issueAndUserIds.get(i);
+            NotificationDTO dto = new NotificationDTO();
+            dto.setId(ids.get(i));
+            dto.setUserId((Long) row[1]);
+            dto.setIssueId((Long) row[0]);
+            dto.setMessage(message);
+            dto.setType(type);
+            dto.setIsRead(false);
+            dto.setCreatedAt(createdAt);
+            created.add(dto);
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO notifications (id, user_id, issue_id, message, type, is_read, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, false, ?)",
+                created,
+                500,
+                (ps, dto) -> {
+                    ps.setLong(1, dto.getId());
+                    ps.setLong(2, dto.getUserId());
+                    ps.setLong(3, dto.getIssueId());
+                    ps.setString(4, message);
+                    ps.setString(5, type.name());
+                    ps.setTimestamp(6, now);
+                });
+        notificationStream.publishNotifications(created);
+    }
+
+    // Counting costs queries, so only do it for users with an open stream
+    private void pushUnreadCount(Long userId) {
+        if (userId != null && notificationStream.isConnected(userId)) {
+            notificationStream.publishUnreadCount(userId, getUnreadCount(userId));
+        }
+    }
+
+    private BroadcastNotification findBroadcast(Long userId, Long notificationId) {
+        if (userId == null) {
+            throw new RuntimeException("Sign in to update announcements");
+        }
+        return broadcastRepository.findById(-notificationId)
+                .orElseThrow(() -> new RuntimeException("Notification not found with id: " + notificationId));
+    }
+
+    private long lastSeenBroadcastId(Long userId) {
+        return broadcastReadMarkerRepository.findById(userId).map(BroadcastReadMarker::getLastSeenId).orElse(0L);
+    }
+
+    // Users see broadcasts from the retention window, and none from before they signed up
+    private LocalDateTime broadcastsSince(Long userId) {
+        LocalDateTime since = LocalDateTime.now().minusDays(broadcastRetentionDays);
+        LocalDateTime joined = userRepository.findById(userId).map(User::getCreatedAt).orElse(null);
+        return joined != null && joined.isAfter(since) ? joined : since;
+    }
+
+    private static List<NotificationDTO> newestFirst(List<NotificationDTO> notifications) {
+        notifications.sort(Comparator.comparing(NotificationDTO::getCreatedAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return notifications;
+    }
+
+    private static String statusMessage(Issue.IssueStatus status) {
+        switch (status) {
             case IN_PROGRESS:
-                message = "Your issue is now being addressed by our team.";
-                type = Notification.NotificationType.ISSUE_IN_PROGRESS;
-                break;
+                return "Your issue is now being addressed by our team.";
             case RESOLVED:
-                message = "Your issue has been resolved. Thank you for your report!";
-                type = Notification.NotificationType.ISSUE_RESOLVED;
-                break;
+                return "Your issue has been resolved. Thank you for your report!";
             default:
-                message = "Your issue status has been updated.";
-                type = Notification.NotificationType.ISSUE_UPDATE;
-                break;
+                return "Your issue status has been updated.";
         }
+    }
 
-        createNotification(userId, issueId, message, type);
+    private static Notification.NotificationType statusNotificationType(Issue.IssueStatus status) {
+        switch (status) {
+            case IN_PROGRESS:
+                return Notification.NotificationType.ISSUE_IN_PROGRESS;
+            case RESOLVED:
+                return Notification.NotificationType.ISSUE_RESOLVED;
+            default:
+                return Notification.NotificationType.ISSUE_UPDATE;
+        }
     }
 }
@@ -0,0 +1,157 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.DTO.NotificationDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Server-Sent Events channel for notifications. Each open stream is an
+// SseEmitter on a servlet async request, so an idle connection holds no
+// thread. Events are sent after the writing transaction commits, from
+// virtual threads, so a slow client never stalls a request or another
+// client. Protocol:
+//   "notification"  a new unread notification (NotificationDTO); clients add 1 to their count
+//   "unread-count"  the absolute unread count, on connect and after reads or deletes
+// A comment line is sent every heartbeat interval so proxies keep the
+// connection open and dead clients are detected and dropped.
+@Component
+public class NotificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong droppedStreams = new AtomicLong();
+
+    @Value("${app.notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.notifications.stream.max-per-user:5}")
+    private int maxPerUser;
+
+    public SseEmitter subscribe(Long userId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, key -> new CopyOnWriteArrayList<>());
+        userEmitters.add(emitter);
+        connections.incrementAndGet();
+
+        Runnable remove = () -> remove(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        // Too many tabs: close the oldest stream, clients reconnect on demand
+        if (userEmitters.size() > maxPerUser) {
+            userEmitters.get(0).complete();
+        }
+
+        send(emitter, SseEmitter.event().name("unread-count").data(unreadCount));
+        return emitter;
+    }
+
+    public boolean isConnected(Long userId) {
+        return emitters.containsKey(userId);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("connections", connections.get());
+        stats.put("connectedUsers", emitters.size());
+        stats.put("droppedStreams", droppedStreams.get());
+        return stats;
+    }
+
+    public void publishNotification(Long userId, NotificationDTO notification) {
+        afterCommit(() -> dispatch(emitters.getOrDefault(userId, List.of()),
+                emitter -> send(emitter, SseEmitter.event().name("notification").data(notification))));
+    }
+
+    public void publishNotifications(Collection<NotificationDTO> notifications) {
+        afterCommit(() -> notifications.forEach(notification -> dispatch(
+                emitters.getOrDefault(notification.getUserId(), List.of()),
+                emitter -> send(emitter, SseEmitter.event().name("notification").data(notification)))));
+    }
+
+    public void publishToAll(NotificationDTO notification) {
+        afterCommit(() -> emitters.values().forEach(userEmitters -> dispatch(userEmitters,
+                emitter -> send(emitter, SseEmitter.event().name("notification").data(notification)))));
+    }
+
+    public void publishUnreadCount(Long userId, long unreadCount) {
+        afterCommit(() -> dispatch(emitters.getOrDefault(userId, List.of()),
+                emitter -> send(emitter, SseEmitter.event().name("unread-count").data(unreadCount))));
+    }
+
+    @Scheduled(fixedRateString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emitters.values().forEach(userEmitters -> dispatch(userEmitters,
+                emitter -> send(emitter, SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        sender.shutdown();
+    }
+
+    private void dispatch(List<SseEmitter> targets, Consumer<SseEmitter> action) {
+        for (SseEmitter emitter : targets) {
+            sender.execute(() -> action.accept(emitter));
+        }
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            // SseEmitter is not safe for concurrent sends
+            synchronized (emitter) {
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            droppedStreams.incrementAndGet();
+            // The client went away; completing fires the removal callback
+            logger.debug("Dropping notification stream: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (key, userEmitters) -> {
+            if (userEmitters.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
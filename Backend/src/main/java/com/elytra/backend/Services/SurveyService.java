@@ -27,6 +27,9 @@ public class SurveyService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     public List<Survey> getAllSurveys() {
         return surveyRepository.findAllByOrderByCreatedAtDesc();
     }
@@ -40,7 +43,9 @@ public class SurveyService {
     }
 
     public Survey createSurvey(Survey survey) {
-        return surveyRepository.save(survey);
+        Survey savedSurvey = surveyRepository.save(survey);
+        collectionVersions.bump(CollectionVersions.Collection.SURVEYS);
+        return savedSurvey;
     }
 
     public Survey updateSurvey(Long id, Survey surveyDetails) {
@@ -52,13 +57,16 @@ public class SurveyService {
         survey.setQuestions(surveyDetails.getQuestions());
         survey.setIsActive(surveyDetails.getIsActive());
 
-        return surveyRepository.save(survey);
+        Survey savedSurvey = surveyRepository.save(survey);
+        collectionVersions.bump(CollectionVersions.Collection.SURVEYS);
+        return savedSurvey;
     }
 
     public void deleteSurvey(Long id) {
         Survey survey = surveyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Survey not found with id: " + id));
         surveyRepository.delete(survey);
+        collectionVersions.bump(CollectionVersions.Collection.SURVEYS);
     }
 
     public SurveyResponse submitSurveyResponse(Long surveyId, Long userId, String responses) {
@@ -82,7 +90,10 @@ public class SurveyService {
         surveyResponse.setUser(user);
         surveyResponse.setResponses(responses);
 
-        return surveyResponseRepository.save(surveyResponse);
+        SurveyResponse savedResponse = surveyResponseRepository.save(surveyResponse);
+        // Survey listings carry the response count
+        collectionVersions.bump(CollectionVersions.Collection.SURVEYS);
+        return savedResponse;
     }
 
     public List<SurveyResponse> getUserSurveyResponses(Long userId) {
@@ -170,6 +181,8 @@ public class SurveyService {
         survey.setIsActive(isActive != null ? isActive : true);
 
         // Save and return
-        return surveyRepository.save(survey);
+        Survey savedSurvey = surveyRepository.save(survey);
+        collectionVersions.bump(CollectionVersions.Collection.SURVEYS);
+        return savedSurvey;
     }
 }
@@ -0,0 +1,305 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.DTO.IssueDTO;
+import com.elytra.backend.Models.Issue;
+import com.elytra.backend.Repository.IssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// In-memory "trending issues" board per city. Score is Hacker News style:
+// upvotes / (ageHours + 2)^gravity, tracked for issues inside the trending
+// window. Votes, creation, updates and deletes adjust a city's top-K
+// incrementally; the scheduled refresh reloads the window to re-decay every
+// score, since age alone can reorder issues. Reads never touch the database.
+// Events are applied after the writing transaction commits, and events that
+// arrive while a refresh is loading are replayed onto the new boards.
+@Service
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Value("${app.trending.top-k:20}")
+    private int topK;
+
+    @Value("${app.trending.gravity:1.8}")
+    private double gravity;
+
+    @Value("${app.trending.window-days:7}")
+    private int windowDays;
+
+    private volatile Map<Long, CityBoard> boards = new ConcurrentHashMap<>();
+
+    // issueId -> cityId for tracked issues, so vote events can find their board
+    private volatile Map<Long, Long> issueCities = new ConcurrentHashMap<>();
+
+    // Guards board events against the refresh swap
+    private final Object eventLock = new Object();
+
+    // Events applied while a refresh is loading, replayed onto its boards; guarded by eventLock
+    private List<Runnable> replay;
+
+    public List<IssueDTO> getTrending(Long cityId, int limit) {
+        CityBoard board = boards.get(cityId);
+        if (board == null) {
+            return new ArrayList<>();
+        }
+        return board.top.stream()
+                .limit(Math.max(0, limit))
+                .map(Candidate::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    public void onIssueCreated(Issue issue) {
+        if (issue.getCity() == null) {
+            return;
+        }
+        IssueDTO dto = IssueDTO.fromEntity(issue);
+        if (dto.getCreatedAt() == null) {
+            dto.setCreatedAt(LocalDateTime.now());
+        }
+        afterCommit(() -> track(new Candidate(dto)));
+    }
+
+    // Moves the issue between boards when its city changed
+    public void onIssueUpdated(Issue issue) {
+        IssueDTO dto = IssueDTO.fromEntity(issue);
+        afterCommit(() -> {
+            Long cityId = issueCities.get(dto.getId());
+            CityBoard oldBoard = cityId != null ? boards.get(cityId) : null;
+            if (oldBoard != null && cityId.equals(dto.getCityId())) {
+                oldBoard.refresh(dto.getId(), dto);
+                return;
+            }
+            Candidate previous = oldBoard != null ? oldBoard.remove(dto.getId()) : null;
+            issueCities.remove(dto.getId());
+            if (dto.getCityId() == null || dto.getCreatedAt() == null
+                    || dto.getCreatedAt().isBefore(LocalDateTime.now().minusDays(windowDays))) {
+                return;
+            }
+            if (previous != null) {
+                dto.setUpvotes(previous.upvotes);
+            }
+            track(new Candidate(dto));
+        });
+    }
+
+    public void onIssueDeleted(Long issueId) {
+        afterCommit(() -> {
+            Long cityId = issueCities.remove(issueId);
+            CityBoard board = cityId != null ? boards.get(cityId) : null;
+            if (board != null) {
+                board.remove(issueId);
+            }
+        });
+    }
+
+    public void onStatusChanged(Long issueId, Issue.IssueStatus status) {
+        afterCommit(() -> {
+            CityBoard board = boardOf(issueId);
+            if (board != null) {
+                board.updateStatus(issueId, status);
+            }
+        });
+    }
+
+    public void onUpvotesChanged(Long issueId, int upvotes) {
+        afterCommit(() -> {
+            CityBoard board = boardOf(issueId);
+            if (board != null) {
+                board.updateVotes(issueId, upvotes);
+            }
+        });
+    }
+
+    // Re-decays all scores by rebuilding the boards from the trending window
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.trending.refresh-ms:300000}")
+    public void refresh() {
+        synchronized (eventLock) {
+            replay = new ArrayList<>();
+        }
+        LocalDateTime since = LocalDateTime.now().minusDays(windowDays);
+        List<IssueDTO> recent;
+        try {
+            recent = issueRepository.findDtosWithCityCreatedSince(since);
+        } catch (RuntimeException e) {
+            synchronized (eventLock) {
+                replay = null;
+            }
+            throw e;
+        }
+
+        Map<Long, CityBoard> newBoards = new ConcurrentHashMap<>();
+        Map<Long, Long> newIssueCities = new ConcurrentHashMap<>();
+        for (IssueDTO dto : recent) {
+            newIssueCities.put(dto.getId(), dto.getCityId());
+            newBoards.computeIfAbsent(dto.getCityId(), id -> new CityBoard()).candidates
+                    .put(dto.getId(), new Candidate(dto));
+        }
+        newBoards.values().forEach(CityBoard::rerank);
+
+        synchronized (eventLock) {
+            boards = newBoards;
+            issueCities = newIssueCities;
+            // The load may or may not have seen these; each is safe to apply again
+            replay.forEach(Runnable::run);
+            replay = null;
+        }
+        logger.debug("Trending boards refreshed: {} issues across {} cities", recent.size(), newBoards.size());
+    }
+
+    private void track(Candidate candidate) {
+        IssueDTO dto = candidate.snapshot;
+        issueCities.put(dto.getId(), dto.getCityId());
+        boards.computeIfAbsent(dto.getCityId(), id -> new CityBoard()).upsert(candidate);
+    }
+
+    // Runs the event once the caller's transaction commits (now if there is none)
+    private void afterCommit(Runnable event) {
+        Runnable apply = () -> {
+            synchronized (eventLock) {
+                event.run();
+                if (replay != null) {
+                    replay.add(event);
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private CityBoard boardOf(Long issueId) {
+        Long cityId = issueCities.get(issueId);
+        return cityId != null ? boards.get(cityId) : null;
+    }
+
+    private double score(Candidate candidate, LocalDateTime now) {
+        double ageHours = Math.max(0, Duration.between(candidate.createdAt, now).toMillis()) / 3_600_000.0;
+        return candidate.upvotes / Math.pow(ageHours + 2, gravity);
+    }
+
+    private static final class Candidate {
+        private final LocalDateTime createdAt;
+        private volatile IssueDTO snapshot;
+        private volatile int upvotes;
+
+        Candidate(IssueDTO dto) {
+            this.snapshot = dto;
+            this.upvotes = dto.getUpvotes() != null ? dto.getUpvotes() : 0;
+            this.createdAt = dto.getCreatedAt();
+        }
+
+        // Callers get their own copy; the snapshot is shared between requests
+        IssueDTO toDTO() {
+            IssueDTO s = snapshot;
+            return new IssueDTO(s.getId(), s.getTitle(), s.getDescription(), s.getCategory(), s.getPriority(),
+                    s.getStatus(), upvotes, s.getCreatedAt(), s.getUpdatedAt(), s.getResolvedAt(),
+                    s.getUserId(), s.getUsername(), s.getCityId(), s.getCityName(), s.getZoneId(),
+                    s.getZoneName(), s.getAreaId(), s.getAreaName(), s.getLatitude(), s.getLongitude());
+        }
+    }
+
+    private final class CityBoard {
+        // Guarded by this
+        private final Map<Long, Candidate> candidates = new HashMap<>();
+
+        // Immutable, ordered by score; replaced wholesale so readers need no lock
+        private volatile List<Candidate> top = Collections.emptyList();
+
+        synchronized void upsert(Candidate candidate) {
+            candidates.put(candidate.snapshot.getId(), candidate);
+            mergeIntoTop(candidate);
+        }
+
+        synchronized void refresh(Long issueId, IssueDTO dto) {
+            Candidate candidate = candidates.get(issueId);
+            if (candidate != null) {
+                dto.setUpvotes(candidate.upvotes);
+                candidate.snapshot = dto;
+            }
+        }
+
+        synchronized void updateStatus(Long issueId, Issue.IssueStatus status) {
+            Candidate candidate = candidates.get(issueId);
+            if (candidate != null) {
+                IssueDTO dto = candidate.toDTO();
+                dto.setStatus(status);
+                candidate.snapshot = dto;
+            }
+        }
+
+        synchronized void updateVotes(Long issueId, int upvotes) {
+            Candidate candidate = candidates.get(issueId);
+            if (candidate == null) {
+                return;
+            }
+            boolean dropped = upvotes < candidate.upvotes;
+            candidate.upvotes = upvotes;
+            if (dropped && top.contains(candidate)) {
+                // A top entry lost score; the next best may be anywhere in the window
+                rerank();
+            } else {
+                mergeIntoTop(candidate);
+            }
+        }
+
+        synchronized Candidate remove(Long issueId) {
+            Candidate removed = candidates.remove(issueId);
+            if (removed != null && top.contains(removed)) {
+                rerank();
+            }
+            return removed;
+        }
+
+        // Re-scores the current top-K plus one candidate at a common "now": O(K log K)
+        private void mergeIntoTop(Candidate candidate) {
+            List<Candidate> merged = new ArrayList<>(top);
+            if (!merged.contains(candidate)) {
+                merged.add(candidate);
+            }
+            top = ranked(merged);
+        }
+
+        synchronized void rerank() {
+            top = ranked(new ArrayList<>(candidates.values()));
+        }
+
+        private List<Candidate> ranked(List<Candidate> pool) {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Candidate, Double> scores = new HashMap<>();
+            pool.forEach(c -> scores.put(c, score(c, now)));
+            return pool.stream()
+                    .sorted(Comparator.comparingDouble((Candidate c) -> scores.get(c)).reversed()
+                            .thenComparing((Candidate c) -> c.createdAt, Comparator.reverseOrder()))
+                    .limit(topK)
+                    .collect(Collectors.toUnmodifiableList());
+        }
+    }
+}
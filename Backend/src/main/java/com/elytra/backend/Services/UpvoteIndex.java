@@ -0,0 +1,99 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.Repository.UpvoteRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// In-memory index of user -> compressed bitmap of upvoted issue ids, so vote
+// status checks for a whole page are bitmap lookups with no query. A user's
+// bitmap is loaded on first use and kept in a size-bounded cache that evicts
+// rarely used entries. Bitmaps are never mutated once published: a vote
+// swaps in an updated copy after commit, which waits for a concurrent load
+// of the same user to finish first. Ids of deleted issues may linger in a
+// bitmap; they are never shown, and ids are not reused.
+@Component
+public class UpvoteIndex {
+
+    @Autowired
+    private UpvoteRepository upvoteRepository;
+
+    private final Cache<Long, Roaring64Bitmap> bitmaps;
+
+    public UpvoteIndex(@Value("${app.votes.index.max-users:50000}") long maxUsers,
+            @Value("${app.votes.index.idle-minutes:30}") long idleMinutes) {
+        this.bitmaps = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+    }
+
+    public boolean hasUpvoted(Long userId, Long issueId) {
+        return bitmapOf(userId).contains(issueId);
+    }
+
+    public Set<Long> upvotedAmong(Long userId, Collection<Long> issueIds) {
+        Roaring64Bitmap bitmap = bitmapOf(userId);
+        return issueIds.stream().filter(bitmap::contains).collect(Collectors.toSet());
+    }
+
+    // Applied after commit, and only to users already loaded
+    public void onVoteChanged(Long userId, Long issueId, boolean upvoted) {
+        Runnable action = () -> bitmaps.asMap().computeIfPresent(userId, (key, bitmap) -> {
+            if (bitmap.contains(issueId) == upvoted) {
+                return bitmap;
+            }
+            Roaring64Bitmap copy = bitmap.clone();
+            if (upvoted) {
+                copy.addLong(issueId);
+            } else {
+                copy.removeLong(issueId);
+            }
+            return copy;
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public void invalidate(Long userId) {
+        bitmaps.invalidate(userId);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("users", bitmaps.estimatedSize());
+        result.put("hitRate", bitmaps.stats().hitRate());
+        result.put("evictions", bitmaps.stats().evictionCount());
+        return result;
+    }
+
+    private Roaring64Bitmap bitmapOf(Long userId) {
+        return bitmaps.get(userId, key -> {
+            Roaring64Bitmap bitmap = new Roaring64Bitmap();
+            upvoteRepository.findIssueIdsByUserId(key).forEach(bitmap::addLong);
+            bitmap.runOptimize();
+            return bitmap;
+        });
+    }
+}
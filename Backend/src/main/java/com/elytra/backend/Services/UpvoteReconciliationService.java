@@ -0,0 +1,165 @@
+package com.elytra.backend.Services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Repairs drift between issues.upvotes and the rows in upvotes. Walks the
+// issues table in id-range chunks; each chunk is one grouped query that
+// returns only the issues whose counter disagrees with COUNT(*), followed
+// by one batched UPDATE. The UPDATE only applies while the counter still
+// holds the value that was read, so a vote landing in between is never
+// overwritten. Chunks run in autocommit with a pause between them to keep
+// lock time and load low next to live traffic.
+@Service
+public class UpvoteReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpvoteReconciliationService.class);
+
+    private static final String DRIFT_SQL = "SELECT i.id, i.upvotes, COUNT(u.id) FROM issues i "
+            + "LEFT JOIN upvotes u ON u.issue_id = i.id "
+            + "WHERE i.id >= ? AND i.id < ? "
+            + "GROUP BY i.id, i.upvotes HAVING i.upvotes <> COUNT(u.id)";
+    private static final String REPAIR_SQL =
+            "UPDATE issues SET upvotes = ?, updated_at = ? WHERE id = ? AND upvotes = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VoteCounterBuffer voteCounterBuffer;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Value("${app.votes.reconcile.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.votes.reconcile.pause-ms:100}")
+    private long pauseMs;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalCorrected = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+    private volatile long lastChunks;
+    private volatile long lastDrifted;
+    private volatile long lastCorrected;
+
+    @Scheduled(initialDelayString = "${app.votes.reconcile.initial-delay-ms:600000}",
+            fixedDelayString = "${app.votes.reconcile.interval-ms:3600000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            logger.warn("Upvote reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    public synchronized Map<String, Object> reconcile() {
+        long started = System.currentTimeMillis();
+        lastRunAt = LocalDateTime.now();
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM issues", Long.class);
+
+        long chunks = 0;
+        long drifted = 0;
+        long corrected = 0;
+        for (long from = 0; from <= maxId; from += chunkSize) {
+            if (chunks > 0 && !pause()) {
+                break;
+            }
+            chunks++;
+            long[] result = reconcileChunk(from, from + chunkSize);
+            drifted += result[0];
+            corrected += result[1];
+        }
+
+        runs.incrementAndGet();
+        totalCorrected.addAndGet(corrected);
+        lastRunMillis = System.currentTimeMillis() - started;
+        lastChunks = chunks;
+        lastDrifted = drifted;
+        lastCorrected = corrected;
+        if (corrected > 0) {
+            logger.info("Upvote reconciliation corrected {} counters in {} chunks ({} ms)",
+                    corrected, chunks, lastRunMillis);
+        }
+        return stats();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("runs", runs.get());
+        result.put("totalCorrected", totalCorrected.get());
+        result.put("lastRunAt", lastRunAt);
+        result.put("lastRunMillis", lastRunMillis);
+        result.put("lastChunks", lastChunks);
+        result.put("lastDrifted", lastDrifted);
+        result.put("lastCorrected", lastCorrected);
+        return result;
+    }
+
+    // Returns [drifted, corrected]
+    private long[] reconcileChunk(long fromId, long toId) {
+        // Buffered votes are not in issues.upvotes yet; push them first, then skip any still pending
+        voteCounterBuffer.flush();
+
+        List<Object[]> repairs = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.query(DRIFT_SQL, rs -> {
+            long issueId = rs.getLong(1);
+            if (voteCounterBuffer.pending(issueId) == 0) {
+                repairs.add(new Object[] { rs.getInt(3), now, issueId, rs.getInt(2) });
+            }
+        }, fromId, toId);
+        if (repairs.isEmpty()) {
+            return new long[] { 0, 0 };
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(REPAIR_SQL, repairs);
+        List<Long> correctedIds = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0) {
+                Object[] repair = repairs.get(i);
+                correctedIds.add((Long) repair[2]);
+                trendingService.onUpvotesChanged((Long) repair[2], (Integer) repair[0]);
+            }
+        }
+        if (!correctedIds.isEmpty()) {
+            issueCache.invalidateAll(correctedIds);
+            collectionVersions.bump(CollectionVersions.Collection.ISSUES);
+        }
+        return new long[] { repairs.size(), correctedIds.size() };
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,69 +1,139 @@
 package com.elytra.backend.Services;
 
-import com.elytra.backend.Models.Issue;
-import com.elytra.backend.Models.Upvote;
-import com.elytra.backend.Models.User;
+import com.elytra.backend.DTO.VoteResult;
+import com.elytra.backend.DTO.VoteStatus;
 import com.elytra.backend.Repository.IssueRepository;
 import com.elytra.backend.Repository.UpvoteRepository;
 import com.elytra.backend.Repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional
 @SuppressWarnings("null")
 public class UpvoteService {
 
+    public static final int MAX_STATUS_IDS = 500;
+
     @Autowired
     private UpvoteRepository upvoteRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private IssueRepository issueRepository;
 
     @Autowired
-    private IssueRepository issueRepository;
+    private UserRepository userRepository;
 
-    public Upvote addUpvote(Long userId, Long issueId) {
-        // Check if upvote already exists
-        if (upvoteRepository.existsByUserIdAndIssueId(userId, issueId)) {
-            throw new RuntimeException("User has already upvoted this issue");
-        }
+    @Autowired
+    private TrendingService trendingService;
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    @Autowired
+    private IssueCache issueCache;
 
-        Issue issue = issueRepository.findById(issueId)
-                .orElseThrow(() -> new RuntimeException("Issue not found with id: " + issueId));
+    @Autowired
+    private CollectionVersions collectionVersions;
 
-        Upvote upvote = new Upvote();
-        upvote.setUser(user);
-        upvote.setIssue(issue);
+    @Autowired
+    private VoteCounterBuffer voteCounterBuffer;
 
-        // Increment upvote count on issue
-        issue.setUpvotes(issue.getUpvotes() + 1);
-        issueRepository.save(issue);
+    @Autowired
+    private UpvoteIndex upvoteIndex;
+
+    // The vote row and the counter are each changed by one statement, so
+    // concurrent votes cannot lose increments and a repeated vote is a no-op
+    public VoteResult addUpvote(Long userId, Long issueId) {
+        // A failed insert aborts the transaction in PostgreSQL, so the user is
+        // checked up front and a foreign key failure can only be the issue
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        int inserted;
+        try {
+            inserted = upvoteRepository.insertIfAbsent(userId, issueId);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Issue not found with id: " + issueId);
+        }
+        if (inserted == 1) {
+            upvoteIndex.onVoteChanged(userId, issueId, true);
+        }
+        return applyVote(issueId, inserted == 1 ? 1 : 0);
+    }
 
-        return upvoteRepository.save(upvote);
+    public VoteResult removeUpvote(Long userId, Long issueId) {
+        int deleted = upvoteRepository.deleteVote(userId, issueId);
+        if (deleted == 1) {
+            upvoteIndex.onVoteChanged(userId, issueId, false);
+        }
+        return applyVote(issueId, deleted == 1 ? -1 : 0);
     }
 
-    public void removeUpvote(Long userId, Long issueId) {
-        if (!upvoteRepository.existsByUserIdAndIssueId(userId, issueId)) {
-            throw new RuntimeException("Upvote not found");
+    private VoteResult applyVote(Long issueId, int delta) {
+        int upvotes;
+        if (delta != 0 && voteCounterBuffer.isEnabled()) {
+            // Write-behind: the issue row is only read here and updated by the next flush
+            int stored = issueRepository.findUpvotesById(issueId)
+                    .orElseThrow(() -> new RuntimeException("Issue not found with id: " + issueId));
+            upvotes = (int) Math.max(0, stored + voteCounterBuffer.pending(issueId) + delta);
+            voteCounterBuffer.add(issueId, delta);
+        } else {
+            if (delta != 0 && issueRepository.addUpvotes(issueId, delta, LocalDateTime.now()) == 0) {
+                // Deleted after the vote row was written; rolls the vote row back too
+                throw new RuntimeException("Issue not found with id: " + issueId);
+            }
+            upvotes = issueRepository.findUpvotesById(issueId)
+                    .orElseThrow(() -> new RuntimeException("Issue not found with id: " + issueId));
         }
 
-        Issue issue = issueRepository.findById(issueId)
-                .orElseThrow(() -> new RuntimeException("Issue not found with id: " + issueId));
+        if (delta != 0) {
+            trendingService.onUpvotesChanged(issueId, upvotes);
+            issueCache.invalidate(issueId);
+            collectionVersions.bump(CollectionVersions.Collection.ISSUES);
+        }
+        return new VoteResult(delta != 0, upvotes);
+    }
 
-        // Decrement upvote count on issue
-        issue.setUpvotes(Math.max(0, issue.getUpvotes() - 1));
-        issueRepository.save(issue);
+    public boolean hasUserUpvoted(Long userId, Long issueId) {
+        return upvoteIndex.hasUpvoted(userId, issueId);
+    }
 
-        upvoteRepository.deleteByUserIdAndIssueId(userId, issueId);
+    // Resolves the vote status of a whole page of issues from the user's bitmap
+    public Set<Long> getUpvotedIssueIds(Long userId, Collection<Long> issueIds) {
+        if (userId == null || issueIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return upvoteIndex.upvotedAmong(userId, issueIds);
     }
 
-    public boolean hasUserUpvoted(Long userId, Long issueId) {
-        return upvoteRepository.existsByUserIdAndIssueId(userId, issueId);
+    // Vote state and current count for a board of issues: one IN-list query
+    // for the counts, the caller's votes come from the bitmap index.
+    // Unknown ids are left out; without a user every hasUpvoted is false.
+    @Transactional(readOnly = true)
+    public List<VoteStatus> getVoteStatuses(Long userId, List<Long> issueIds) {
+        if (issueIds == null || issueIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (issueIds.size() > MAX_STATUS_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_STATUS_IDS + " issue ids can be checked at once");
+        }
+
+        Set<Long> upvoted = getUpvotedIssueIds(userId, issueIds);
+        return issueRepository.findUpvotesByIdIn(issueIds).stream()
+                .map(row -> {
+                    Long issueId = (Long) row[0];
+                    long upvotes = Math.max(0, (Integer) row[1] + voteCounterBuffer.pending(issueId));
+                    return new VoteStatus(issueId, upvoted.contains(issueId), (int) upvotes);
+                })
+                .collect(Collectors.toList());
     }
 
     public Long getUpvoteCount(Long issueId) {
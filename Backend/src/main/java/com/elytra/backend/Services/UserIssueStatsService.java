@@ -0,0 +1,120 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.Models.Issue;
+import com.elytra.backend.Models.UserIssueStats;
+import com.elytra.backend.Repository.UserIssueStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Maintains the user_issue_stats rollup. Every change is a single upsert of
+// deltas inside the caller's transaction, so the counts commit or roll back
+// together with the issue row. A periodic rebuild repairs any drift; it locks
+// each user's row before recounting, so it serialises with the deltas.
+@Service
+@Transactional
+@SuppressWarnings("null")
+public class UserIssueStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserIssueStatsService.class);
+
+    @Autowired
+    private UserIssueStatsRepository userIssueStatsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.user-stats.rebuild-chunk-size:1000}")
+    private int rebuildChunkSize;
+
+    @Transactional(readOnly = true)
+    public UserIssueStats getStats(Long userId) {
+        return userIssueStatsRepository.findById(userId).orElseGet(() -> UserIssueStats.empty(userId));
+    }
+
+    public void onIssueCreated(Long userId, Issue.IssueStatus status) {
+        apply(userId, 1, status, 1);
+    }
+
+    public void onIssueDeleted(Long userId, Issue.IssueStatus status) {
+        apply(userId, -1, status, -1);
+    }
+
+    // Deltas are indexed by IssueStatus ordinal: pending, in progress, resolved
+    public void onStatusChanged(Long userId, Issue.IssueStatus from, Issue.IssueStatus to) {
+        if (from == to) {
+            return;
+        }
+        long[] delta = new long[3];
+        delta[to.ordinal()]++;
+        delta[from.ordinal()]--;
+        userIssueStatsRepository.applyDelta(userId, 0, delta[0], delta[1], delta[2]);
+    }
+
+    // rows are [issueId, userId, previousStatus]; one upsert per affected user,
+    // in user id order like the rebuild's row locks
+    public void onStatusChanged(List<Object[]> changes, Issue.IssueStatus to) {
+        Map<Long, long[]> deltas = new TreeMap<>();
+        for (Object[] row : changes) {
+            Issue.IssueStatus from = (Issue.IssueStatus) row[2];
+            if (from == to) {
+                continue;
+            }
+            long[] delta = deltas.computeIfAbsent((Long) row[1], id -> new long[3]);
+            delta[to.ordinal()]++;
+            delta[from.ordinal()]--;
+        }
+        deltas.forEach((userId, delta) -> userIssueStatsRepository.applyDelta(userId, 0, delta[0], delta[1], delta[2]));
+    }
+
+    // rows are [userId, count] of resolved issues moved out of the issues table
+    // by partition archiving, in user id order
+    public void onResolvedIssuesArchived(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            long count = ((Number) row[1]).longValue();
+            userIssueStatsRepository.applyDelta(((Number) row[0]).longValue(), -count, 0, 0, -count);
+        }
+    }
+
+    public void onUserDeleted(Long userId) {
+        userIssueStatsRepository.findById(userId).ifPresent(userIssueStatsRepository::delete);
+    }
+
+    // One short transaction per chunk of users, so row locks are held briefly
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.user-stats.rebuild-ms:86400000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        int rows = 0;
+        long afterId = 0;
+        List<Long> userIds;
+        while (!(userIds = userIssueStatsRepository.findUserIdsAfter(afterId, rebuildChunkSize)).isEmpty()) {
+            List<Long> chunk = userIds;
+            rows += transactionTemplate.execute(status -> {
+                userIssueStatsRepository.insertMissing(chunk);
+                userIssueStatsRepository.lockRows(chunk);
+                userIssueStatsRepository.deleteWithoutIssues(chunk);
+                return userIssueStatsRepository.recount(chunk);
+            });
+            afterId = userIds.get(userIds.size() - 1);
+        }
+        logger.info("User issue stats rebuilt: {} users in {} ms", rows, System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    private void apply(Long userId, long total, Issue.IssueStatus status, long change) {
+        long[] delta = new long[3];
+        delta[status.ordinal()] = change;
+        userIssueStatsRepository.applyDelta(userId, total, delta[0], delta[1], delta[2]);
+    }
+}
@@ -1,12 +1,19 @@
 package com.elytra.backend.Services;
 
+import com.elytra.backend.DTO.CursorPage;
 import com.elytra.backend.Models.User;
+import com.elytra.backend.Repository.IssueTombstoneRepository;
 import com.elytra.backend.Repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,10 +24,58 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private IssueTombstoneRepository issueTombstoneRepository;
+
+    @Autowired
+    private UserIssueStatsService userIssueStatsService;
+
+    @Autowired
+    private UpvoteIndex upvoteIndex;
+
+    @Autowired
+    private NotificationService notificationService;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    // Admin user list, newest first, one page per request with the issue
+    // totals joined in; the cursor is the last id returned
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getUsersWithStats(String cursor, int limit) {
+        int size = IssueService.clampPageSize(limit);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<Object[]> rows = (cursor == null || cursor.isBlank())
+                ? userRepository.findWithIssueTotal(page)
+                : userRepository.findWithIssueTotalBefore(
+                        IssueService.parseLong(IssueService.decodeCursor(cursor, 1)[0]), page);
+
+        List<Map<String, Object>> users = new ArrayList<>();
+        for (Object[] row : rows.subList(0, Math.min(rows.size(), size))) {
+            User user = (User) row[0];
+            Map<String, Object> userMap = new HashMap<>();
+            userMap.put("id", user.getId());
+            userMap.put("username", user.getUsername());
+            userMap.put("email", user.getEmail());
+            userMap.put("role", user.getRole().toString());
+            userMap.put("status", user.getStatus().toString());
+            userMap.put("createdAt", user.getCreatedAt());
+            userMap.put("reportCount", row[1] != null ? row[1] : 0L);
+            users.add(userMap);
+        }
+        String next = rows.size() > size
+                ? IssueService.encodeCursor(String.valueOf(users.get(size - 1).get("id")))
+                : null;
+        return new CursorPage<>(users, next);
+    }
+
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
@@ -47,18 +102,34 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
 
+        boolean renamed = !user.getUsername().equals(userDetails.getUsername());
         user.setUsername(userDetails.getUsername());
         user.setEmail(userDetails.getEmail());
         user.setRole(userDetails.getRole());
         user.setStatus(userDetails.getStatus());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        if (renamed) {
+            // Cached issues and issue list ETags carry the author's username
+            issueCache.invalidateAll();
+            collectionVersions.bump(CollectionVersions.Collection.ISSUES);
+        }
+        return saved;
     }
 
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        issueTombstoneRepository.insertForUser(id, LocalDateTime.now());
         userRepository.delete(user);
+
+        // The user's issues and survey responses are removed by cascade
+        issueCache.invalidateAll();
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
+        collectionVersions.bump(CollectionVersions.Collection.SURVEYS);
+        userIssueStatsService.onUserDeleted(id);
+        upvoteIndex.invalidate(id);
+        notificationService.onUserDeleted(id);
     }
 
     public boolean existsByUsername(String username) {
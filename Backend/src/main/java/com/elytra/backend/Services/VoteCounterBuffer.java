@@ -0,0 +1,182 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.DTO.IssueDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Optional write-behind for issues.upvotes (app.votes.write-behind.enabled).
+// Committed votes add their delta to a striped per-issue counter instead of
+// updating the issue row; a scheduled flush applies all deltas in one JDBC
+// batch, sorted by id so concurrent instances lock rows in the same order.
+// DTO reads add the pending deltas, so counts stay current between flushes.
+// Deltas not yet flushed are lost if the process dies without shutting down;
+// the upvotes rows remain the source of truth for reconciliation.
+@Component
+public class VoteCounterBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteCounterBuffer.class);
+
+    private static final String FLUSH_SQL =
+            "UPDATE issues SET upvotes = GREATEST(upvotes + ?, 0), updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IssueCache issueCache;
+
+    @Value("${app.votes.write-behind.enabled:false}")
+    private boolean enabled;
+
+    private final Map<Long, Counter> pending = new ConcurrentHashMap<>();
+    // Issues whose counter was zero at the last flush; dropped if still zero at the next
+    private final Set<Long> idle = ConcurrentHashMap.newKeySet();
+
+    // Marked once evicted, so an add that raced with the eviction hands its
+    // delta back to the map instead of leaving it on a detached counter
+    private static final class Counter extends LongAdder {
+        private volatile boolean retired;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Counted only once the vote row has committed
+    public void add(Long issueId, int delta) {
+        Runnable action = () -> addPending(issueId, delta);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public long pending(Long issueId) {
+        LongAdder adder = pending.get(issueId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    // For freshly loaded DTOs; updated in place
+    public void applyPending(Collection<IssueDTO> issues) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        issues.forEach(dto -> {
+            long delta = pending(dto.getId());
+            if (delta != 0) {
+                dto.setUpvotes((int) Math.max(0, dto.getUpvotes() + delta));
+            }
+        });
+    }
+
+    // For shared (cached) DTOs; returns a copy when a delta applies
+    public IssueDTO withPending(IssueDTO issue) {
+        long delta = pending(issue.getId());
+        if (delta == 0) {
+            return issue;
+        }
+        IssueDTO copy = new IssueDTO();
+        BeanUtils.copyProperties(issue, copy);
+        copy.setUpvotes((int) Math.max(0, issue.getUpvotes() + delta));
+        return copy;
+    }
+
+    // Between taking a delta and the UPDATE landing, reads briefly miss it
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.votes.write-behind.flush-ms:500}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, Counter> entry : pending.entrySet()) {
+            Long issueId = entry.getKey();
+            Counter counter = entry.getValue();
+            long delta = counter.sumThenReset();
+            if (delta == 0 && !idle.add(issueId)) {
+                // Idle for a whole interval: drop it. An add that got the counter
+                // before the removal lands either before the drain below, which
+                // moves it to a new counter, or after retired is set, in which
+                // case the adder moves it itself.
+                idle.remove(issueId);
+                if (pending.remove(issueId, counter)) {
+                    counter.retired = true;
+                    long late = counter.sumThenReset();
+                    if (late != 0) {
+                        addPending(issueId, late);
+                    }
+                }
+            } else if (delta != 0) {
+                idle.remove(issueId);
+            }
+            if (delta != 0) {
+                batch.add(new Object[] { delta, now, issueId });
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        batch.sort(Comparator.comparing(row -> (Long) row[2]));
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (DataAccessException e) {
+            // Put the deltas back for the next attempt
+            logger.warn("Vote counter flush failed for {} issues, retrying later", batch.size(), e);
+            batch.forEach(row -> addPending((Long) row[2], (Long) row[0]));
+            return;
+        }
+        issueCache.invalidateAll(batch.stream().map(row -> (Long) row[2]).toList());
+    }
+
+    // Lock-free for an existing counter, so votes on a hot issue only contend
+    // on the LongAdder cells
+    private void addPending(Long issueId, long delta) {
+        Counter counter = pending.get(issueId);
+        if (counter == null) {
+            counter = pending.computeIfAbsent(issueId, key -> new Counter());
+        }
+        counter.add(delta);
+        if (counter.retired) {
+            long late = counter.sumThenReset();
+            if (late != 0) {
+                addPending(issueId, late);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty() && pending.values().stream().anyMatch(adder -> adder.sum() != 0)) {
+            logger.warn("Vote counter buffer shut down with unflushed deltas");
+        }
+    }
+}
@@ -3,11 +3,9 @@ package com.elytra.backend.Services;
 import com.elytra.backend.Models.Zone;
 import com.elytra.backend.Models.City;
 import com.elytra.backend.Models.Notification;
-import com.elytra.backend.Models.User;
 import com.elytra.backend.Models.Issue;
 import com.elytra.backend.Repository.ZoneRepository;
 import com.elytra.backend.Repository.CityRepository;
-import com.elytra.backend.Repository.UserRepository;
 import com.elytra.backend.Repository.IssueRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -27,15 +26,18 @@ public class ZoneService {
     @Autowired
     private CityRepository cityRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private NotificationService notificationService;
 
     @Autowired
     private IssueRepository issueRepository;
 
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     public List<Zone> getAllZones() {
         return zoneRepository.findAll();
     }
@@ -58,9 +60,10 @@ public class ZoneService {
 
         zone.setCity(city);
         Zone savedZone = zoneRepository.save(zone);
+        collectionVersions.bump(CollectionVersions.Collection.LOCATIONS);
 
         // Notify all users
-        notifyAllUsers("New zone added in " + city.getName() + ": " + savedZone.getName(),
+        notificationService.notifyAllUsers("New zone added in " + city.getName() + ": " + savedZone.getName(),
                 Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
 
         return savedZone;
@@ -73,9 +76,14 @@ public class ZoneService {
         String oldName = zone.getName();
         zone.setName(zoneDetails.getName());
         Zone savedZone = zoneRepository.save(zone);
+        collectionVersions.bump(CollectionVersions.Collection.LOCATIONS);
+
+        // Cached issue DTOs carry the zone name
+        issueCache.invalidateAll();
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
 
         // Notify all users
-        notifyAllUsers("Zone updated: " + oldName + " → " + savedZone.getName(),
+        notificationService.notifyAllUsers("Zone updated: " + oldName + " → " + savedZone.getName(),
                 Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
 
         return savedZone;
@@ -93,18 +101,15 @@ public class ZoneService {
             issue.setArea(null);
         }
         issueRepository.saveAll(relatedIssues);
+        issueCache.invalidateAll(relatedIssues.stream().map(Issue::getId).collect(Collectors.toList()));
+        collectionVersions.bump(CollectionVersions.Collection.ISSUES);
 
         String zoneName = zone.getName();
         zoneRepository.delete(zone);
+        collectionVersions.bump(CollectionVersions.Collection.LOCATIONS);
 
         // Notify all users
-        notifyAllUsers("Zone removed: " + zoneName, Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
-    }
-
-    private void notifyAllUsers(String message, Notification.NotificationType type) {
-        List<User> users = userRepository.findAll();
-        for (User user : users) {
-            notificationService.createNotification(user.getId(), null, message, type);
-        }
+        notificationService.notifyAllUsers("Zone removed: " + zoneName,
+                Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
     }
 }
@@ -0,0 +1,145 @@
+package com.elytra.backend.Benchmark;
+
+import com.elytra.backend.Models.Issue;
+import com.elytra.backend.Models.Notification;
+import com.elytra.backend.Models.User;
+import com.elytra.backend.Repository.IssueRepository;
+import com.elytra.backend.Repository.NotificationRepository;
+import com.elytra.backend.Repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+// Insert throughput of the two write-heavy paths through the real entities and
+// repositories (saveAll), with the batching settings from application.properties
+// (pooled sequence ids, hibernate.jdbc.batch_size=50, order_inserts,
+// reWriteBatchedInserts) and with JDBC batching switched off for the session,
+// which is what the old IDENTITY ids forced. Needs a scratch PostgreSQL
+// database; the schema is created and dropped by Hibernate:
+//
+//   BENCHMARK_DB_URL=jdbc:postgresql://localhost:5432/elytra_bench \
+//   BENCHMARK_DB_USERNAME=postgres BENCHMARK_DB_PASSWORD=... \
+//   mvn test -Dtest=InsertBatchingBenchmark
+@DataJpaTest(properties = {
+        "spring.datasource.url=${BENCHMARK_DB_URL}",
+        "spring.datasource.username=${BENCHMARK_DB_USERNAME:postgres}",
+        "spring.datasource.password=${BENCHMARK_DB_PASSWORD:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DB_URL", matches = ".+")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InsertBatchingBenchmark {
+
+    private static final int NOTIFICATION_ROWS = 20_000;
+    private static final int ISSUE_ROWS = 5_000;
+    private static final int WARMUP_ROWS = 2_000;
+    private static final String ISSUE_TEXT = "Deep pothole in the left lane causing accidents at night. ".repeat(8);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void insertThroughput() {
+        notificationRepository.deleteAllInBatch();
+        issueRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        User user = userRepository.save(user());
+
+        // Warm up the JIT, the connection pool and the sequence caches
+        run(user, null, WARMUP_ROWS, WARMUP_ROWS);
+        run(user, 1, WARMUP_ROWS, WARMUP_ROWS);
+
+        report("unbatched (batch size 1)", run(user, 1, NOTIFICATION_ROWS, ISSUE_ROWS));
+        report("batched (application.properties)", run(user, null, NOTIFICATION_ROWS, ISSUE_ROWS));
+    }
+
+    // batchSize null keeps the configured hibernate.jdbc.batch_size
+    private long[] run(User user, Integer batchSize, int notificationRows, int issueRows) {
+        return new long[] {
+                time(batchSize, notificationRows, i -> notification(user, i), notificationRepository::saveAll),
+                time(batchSize, issueRows, i -> issue(user, i), issueRepository::saveAll)
+        };
+    }
+
+    // Builds the entities outside the timing, then saves them in one transaction
+    private <T> long time(Integer batchSize, int rows, IntFunction<T> factory, Consumer<List<T>> saveAll) {
+        List<T> entities = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            entities.add(factory.apply(i));
+        }
+        long start = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (batchSize != null) {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            }
+            saveAll.accept(entities);
+        });
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String label, long[] nanos) {
+        System.out.printf("%n%s%n", label);
+        report("notification fan-out", NOTIFICATION_ROWS, nanos[0]);
+        report("bulk issue creation", ISSUE_ROWS, nanos[1]);
+    }
+
+    private static void report(String name, int rows, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("  %-25s %6d rows %8.0f ms %10.0f rows/s%n", name, rows, seconds * 1000, rows / seconds);
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setUsername("bench");
+        user.setEmail("bench@example.com");
+        user.setPasswordHash("x");
+        return user;
+    }
+
+    private static Notification notification(User user, int i) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setMessage("New city added: Lahore");
+        notification.setType(Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
+        return notification;
+    }
+
+    private static Issue issue(User user, int i) {
+        Issue issue = new Issue();
+        issue.setUser(user);
+        issue.setTitle("Pothole #" + i);
+        issue.setDescription(ISSUE_TEXT);
+        issue.setCategory("Roads");
+        return issue;
+    }
+}
@@ -0,0 +1,201 @@
+package com.elytra.backend.Repository;
+
+import com.elytra.backend.DTO.IssueDTO;
+import com.elytra.backend.DTO.IssueFilter;
+import com.elytra.backend.DTO.IssueMapCluster;
+import com.elytra.backend.Models.*;
+import com.elytra.backend.Services.Geohash;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class IssueRepositoryTest {
+
+    private static final int ISSUE_COUNT = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    private City city;
+
+    @BeforeEach
+    void setUp() {
+        city = new City();
+        city.setName("Lahore");
+        entityManager.persist(city);
+
+        for (int i = 0; i < ISSUE_COUNT; i++) {
+            Zone zone = new Zone();
+            zone.setName("Zone " + i);
+            zone.setCity(city);
+            entityManager.persist(zone);
+
+            Area area = new Area();
+            area.setName("Area " + i);
+            area.setZone(zone);
+            entityManager.persist(area);
+
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@elytra.com");
+            entityManager.persist(user);
+
+            Issue issue = new Issue();
+            issue.setTitle("Pothole " + i);
+            issue.setDescription("Deep pothole on main road");
+            issue.setCategory("Roads");
+            issue.setUser(user);
+            issue.setCity(city);
+            issue.setZone(zone);
+            issue.setArea(area);
+            issue.setPriority(i % 2 == 0 ? Issue.Priority.HIGH : Issue.Priority.LOW);
+            issue.setLatitude(31.5 + i * 0.001);
+            issue.setLongitude(74.3 + i * 0.001);
+            issue.setGeohash(Geohash.encode(issue.getLatitude(), issue.getLongitude(), 12));
+            entityManager.persist(issue);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void entityMappingIssuesOneSelectPerLazyAssociation() {
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        List<IssueDTO> dtos = issueRepository.findByCityId(city.getId()).stream()
+                .map(IssueDTO::fromEntity)
+                .toList();
+
+        assertThat(dtos).hasSize(ISSUE_COUNT);
+        // 1 list query + user, zone and area per issue (the shared city is loaded once)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 1 + 3L * ISSUE_COUNT);
+    }
+
+    @Test
+    void dtoProjectionUsesSingleStatementAndNoManagedEntities() {
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        List<IssueDTO> dtos = issueRepository.findDtosByCityId(city.getId());
+
+        assertThat(dtos).hasSize(ISSUE_COUNT);
+        assertThat(dtos).allSatisfy(dto -> {
+            assertThat(dto.getUsername()).startsWith("user");
+            assertThat(dto.getCityName()).isEqualTo("Lahore");
+            assertThat(dto.getZoneName()).startsWith("Zone");
+            assertThat(dto.getAreaName()).startsWith("Area");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount())
+                .isZero();
+    }
+
+    @Test
+    void filterCombinesFacetsAndPagesByKeyset() {
+        IssueFilter filter = new IssueFilter();
+        filter.setPriority(Issue.Priority.HIGH);
+        filter.setStatus(Issue.IssueStatus.PENDING);
+        filter.setCityId(city.getId());
+        filter.setCategory("Roads");
+
+        List<IssueDTO> firstPage = issueRepository.findByFilter(filter, null, null, 3);
+        assertThat(firstPage).hasSize(3)
+                .allSatisfy(dto -> assertThat(dto.getPriority()).isEqualTo(Issue.Priority.HIGH));
+
+        IssueDTO last = firstPage.get(2);
+        List<IssueDTO> secondPage = issueRepository.findByFilter(filter, last.getCreatedAt(), last.getId(), 3);
+        assertThat(secondPage).hasSize(ISSUE_COUNT / 2 - 3)
+                .extracting(IssueDTO::getId)
+                .doesNotContainAnyElementsOf(firstPage.stream().map(IssueDTO::getId).toList());
+    }
+
+    @Test
+    void filterByUserReturnsOnlyThatUsersIssues() {
+        IssueDTO owned = issueRepository.findDtosByCityId(city.getId()).get(0);
+        IssueFilter filter = new IssueFilter();
+        filter.setUserId(owned.getUserId());
+
+        assertThat(issueRepository.findByFilter(filter, null, null, 10))
+                .extracting(IssueDTO::getId)
+                .containsExactly(owned.getId());
+    }
+
+    @Test
+    void bulkStatusUpdateIsSetBasedAndOnlyTouchesChangingIssues() {
+        List<Long> ids = issueRepository.findDtosByCityId(city.getId()).stream().map(IssueDTO::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(issueRepository.findIdAndUserIdForStatusChange(ids, Issue.IssueStatus.RESOLVED))
+                .hasSize(ISSUE_COUNT);
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        int updated = issueRepository.updateStatusByIdIn(ids, Issue.IssueStatus.RESOLVED, now, now);
+
+        assertThat(updated).isEqualTo(ISSUE_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(issueRepository.findDtosByStatus(Issue.IssueStatus.RESOLVED))
+                .hasSize(ISSUE_COUNT)
+                .allSatisfy(dto -> assertThat(dto.getResolvedAt()).isNotNull());
+
+        // Already resolved issues are skipped on a repeated transition
+        assertThat(issueRepository.updateStatusByIdIn(ids, Issue.IssueStatus.RESOLVED, now, now)).isZero();
+    }
+
+    @Test
+    void streamByFilterYieldsMatchingRowsInIdOrder() {
+        IssueFilter filter = new IssueFilter();
+        filter.setCityId(city.getId());
+        filter.setPriority(Issue.Priority.LOW);
+
+        try (Stream<IssueDTO> stream = issueRepository.streamByFilter(filter, 2)) {
+            List<Long> ids = stream.map(IssueDTO::getId).toList();
+            assertThat(ids).hasSize(ISSUE_COUNT / 2).isSorted();
+        }
+    }
+
+    @Test
+    void boundingBoxQueriesUseGeohashCellsAndExactBounds() {
+        // Covers issues 0..4 only
+        double minLat = 31.4995, minLng = 74.2995, maxLat = 31.5045, maxLng = 74.3045;
+        int precision = Geohash.coveringPrecision(minLat, minLng, maxLat, maxLng, 32);
+        List<String> cells = Geohash.cover(minLat, minLng, maxLat, maxLng, precision);
+        assertThat(cells).hasSizeLessThanOrEqualTo(32);
+
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        List<IssueDTO> issues = issueRepository.findInCells(cells, minLat, minLng, maxLat, maxLng, 100);
+        assertThat(issues).hasSize(5).allSatisfy(dto -> assertThat(dto.getLatitude()).isBetween(minLat, maxLat));
+
+        List<IssueMapCluster> clusters = issueRepository.clusterInCells(cells, minLat, minLng, maxLat, maxLng,
+                precision + 1);
+        assertThat(clusters.stream().mapToLong(IssueMapCluster::getCount).sum()).isEqualTo(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,57 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.Models.Issue;
+import com.elytra.backend.Models.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateIssueIndexTest {
+
+    private DuplicateIssueIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DuplicateIssueIndex(16, 4, 0.5);
+        index.index(issue(1L, 10L, "Large pothole on Main Boulevard",
+                "Deep pothole in the left lane of Main Boulevard causing accidents at night"));
+        index.index(issue(2L, 10L, "Streetlights not working",
+                "All streetlights on canal road have been off for a week"));
+        index.index(issue(3L, 20L, "Large pothole on Main Boulevard",
+                "Deep pothole in the left lane of Main Boulevard causing accidents at night"));
+    }
+
+    @Test
+    void findsNearDuplicateInSameZoneOnly() {
+        List<DuplicateIssueIndex.Match> matches = index.findSimilar("Pothole on Main Boulevard",
+                "Deep pothole in the left lane of Main Boulevard causing accidents", null, 10L, 5);
+
+        assertThat(matches).extracting(DuplicateIssueIndex.Match::getIssueId).containsExactly(1L);
+    }
+
+    @Test
+    void resolvedAndRemovedIssuesAreNotReturned() {
+        index.onStatusChanged(1L, Issue.IssueStatus.RESOLVED);
+        index.remove(3L);
+
+        assertThat(index.findSimilar("Large pothole on Main Boulevard",
+                "Deep pothole in the left lane of Main Boulevard causing accidents at night", null, 10L, 5)).isEmpty();
+        assertThat(index.findSimilar("Large pothole on Main Boulevard",
+                "Deep pothole in the left lane of Main Boulevard causing accidents at night", null, 20L, 5)).isEmpty();
+    }
+
+    private static Issue issue(Long id, Long zoneId, String title, String description) {
+        Zone zone = new Zone();
+        zone.setId(zoneId);
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setZone(zone);
+        issue.setTitle(title);
+        issue.setDescription(description);
+        issue.setStatus(Issue.IssueStatus.PENDING);
+        return issue;
+    }
+}
@@ -0,0 +1,41 @@
+package com.elytra.backend.Services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeohashTest {
+
+    @Test
+    void coverIncludesTheCellsOfEveryCorner() {
+        int precision = Geohash.coveringPrecision(31.50, 74.30, 31.55, 74.40, 64);
+        List<String> cells = Geohash.cover(31.50, 74.30, 31.55, 74.40, precision);
+
+        assertThat(cells).hasSizeLessThanOrEqualTo(64).contains(
+                Geohash.encode(31.50, 74.30, precision),
+                Geohash.encode(31.50, 74.40, precision),
+                Geohash.encode(31.55, 74.30, precision),
+                Geohash.encode(31.55, 74.40, precision));
+    }
+
+    @Test
+    void coverRejectsNonFiniteEdges() {
+        assertThatThrownBy(() -> Geohash.cover(Double.NaN, 10, 20, 10.001, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Geohash.cover(10, 10, 20, Double.POSITIVE_INFINITY, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void nonFiniteOrInvertedBoxesAreInvalid() {
+        assertThat(Geohash.isValidBox(Double.NaN, 10, 20, 10.001)).isFalse();
+        assertThat(Geohash.isValidBox(10, Double.NaN, 20, 10.001)).isFalse();
+        assertThat(Geohash.isValidBox(10, 10, Double.NEGATIVE_INFINITY, 10.001)).isFalse();
+        assertThat(Geohash.isValidBox(20, 10, 10, 10.001)).isFalse();
+        assertThat(Geohash.isValidBox(-91, 10, 10, 10.001)).isFalse();
+        assertThat(Geohash.isValidBox(10, 10, 20, 10.001)).isTrue();
+    }
+}
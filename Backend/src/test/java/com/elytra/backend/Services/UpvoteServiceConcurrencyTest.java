@@ -0,0 +1,166 @@
+package com.elytra.backend.Services;
+
+import com.elytra.backend.DTO.VoteResult;
+import com.elytra.backend.Models.Issue;
+import com.elytra.backend.Models.User;
+import com.elytra.backend.Repository.IssueRepository;
+import com.elytra.backend.Repository.UpvoteRepository;
+import com.elytra.backend.Repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Votes commit on their own threads, so this runs outside the usual test transaction
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:upvotes;MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ UpvoteService.class, TrendingService.class, IssueCache.class, CollectionVersions.class,
+        VoteCounterBuffer.class, UpvoteIndex.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UpvoteServiceConcurrencyTest {
+
+    private static final int VOTERS = 2000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private UpvoteService upvoteService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private UpvoteRepository upvoteRepository;
+
+    @Autowired
+    private VoteCounterBuffer voteCounterBuffer;
+
+    private List<Long> voterIds;
+    private Long issueId;
+
+    @BeforeEach
+    void setUp() {
+        upvoteRepository.deleteAllInBatch();
+        issueRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            User user = new User();
+            user.setUsername("voter" + i);
+            user.setEmail("voter" + i + "@elytra.com");
+            voters.add(user);
+        }
+        voterIds = userRepository.saveAll(voters).stream().map(User::getId).toList();
+
+        Issue issue = new Issue();
+        issue.setTitle("Broken streetlight");
+        issue.setDescription("Dark stretch on the main road");
+        issue.setCategory("Lighting");
+        issue.setUser(userRepository.getReferenceById(voterIds.get(0)));
+        issueId = issueRepository.save(issue).getId();
+    }
+
+    @Test
+    void parallelVotesAreAllCountedAndRepeatsAreIgnored() throws Exception {
+        // Every voter votes twice, racing against everyone else
+        List<Callable<VoteResult>> votes = new ArrayList<>();
+        for (Long voterId : voterIds) {
+            votes.add(() -> upvoteService.addUpvote(voterId, issueId));
+            votes.add(() -> upvoteService.addUpvote(voterId, issueId));
+        }
+
+        long applied = runAll(votes).stream().filter(VoteResult::isApplied).count();
+
+        assertThat(applied).isEqualTo(VOTERS);
+        assertThat(upvoteRepository.countByIssueId(issueId)).isEqualTo(VOTERS);
+        assertThat(issueRepository.findUpvotesById(issueId)).contains(VOTERS);
+    }
+
+    @Test
+    void parallelRemovalsNeverDropBelowTheVoteRows() throws Exception {
+        List<Callable<VoteResult>> votes = new ArrayList<>();
+        voterIds.forEach(voterId -> votes.add(() -> upvoteService.addUpvote(voterId, issueId)));
+        runAll(votes);
+
+        // Half the voters retract, each twice
+        List<Callable<VoteResult>> removals = new ArrayList<>();
+        for (Long voterId : voterIds.subList(0, VOTERS / 2)) {
+            removals.add(() -> upvoteService.removeUpvote(voterId, issueId));
+            removals.add(() -> upvoteService.removeUpvote(voterId, issueId));
+        }
+        long applied = runAll(removals).stream().filter(VoteResult::isApplied).count();
+
+        assertThat(applied).isEqualTo(VOTERS / 2);
+        assertThat(issueRepository.findUpvotesById(issueId)).contains(VOTERS - VOTERS / 2);
+        assertThat(upvoteRepository.countByIssueId(issueId)).isEqualTo(VOTERS - VOTERS / 2);
+
+        // The in-memory vote index agrees with the rows
+        assertThat(upvoteService.hasUserUpvoted(voterIds.get(0), issueId)).isFalse();
+        assertThat(upvoteService.hasUserUpvoted(voterIds.get(VOTERS - 1), issueId)).isTrue();
+    }
+
+    @Test
+    void writeBehindVotesAreFlushedInOneBatch() throws Exception {
+        ReflectionTestUtils.setField(voteCounterBuffer, "enabled", true);
+        try {
+            List<Callable<VoteResult>> votes = new ArrayList<>();
+            voterIds.forEach(voterId -> votes.add(() -> upvoteService.addUpvote(voterId, issueId)));
+            runAll(votes);
+
+            // The scheduled flush may already have run part of the deltas
+            voteCounterBuffer.flush();
+            assertThat(voteCounterBuffer.pending(issueId)).isZero();
+            assertThat(issueRepository.findUpvotesById(issueId)).contains(VOTERS);
+        } finally {
+            ReflectionTestUtils.setField(voteCounterBuffer, "enabled", false);
+        }
+    }
+
+    @Test
+    void votesReportWhetherTheUserOrTheIssueIsMissing() {
+        assertThatThrownBy(() -> upvoteService.addUpvote(-1L, issueId))
+                .hasMessage("User not found with id: -1");
+        assertThatThrownBy(() -> upvoteService.addUpvote(voterIds.get(0), -1L))
+                .hasMessage("Issue not found with id: -1");
+        assertThat(upvoteRepository.countByIssueId(issueId)).isZero();
+    }
+
+    private List<VoteResult> runAll(List<Callable<VoteResult>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<VoteResult> results = new ArrayList<>();
+            for (Future<VoteResult> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
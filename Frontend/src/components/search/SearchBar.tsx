@@ -75,8 +75,9 @@ const SearchBar = () => {
 
             try {
                 setLoading(true);
-                const allIssues = await issueService.getIssuesByUserId(userId);
-                const filtered = allIssues.filter(issue =>
+                // Searches the user's newest issues (one full page)
+                const page = await issueService.getIssuesByUserId(userId, undefined, 100);
+                const filtered = page.items.filter(issue =>
                     issue.title.toLowerCase().includes(query.toLowerCase()) ||
                     issue.description.toLowerCase().includes(query.toLowerCase())
                 );
@@ -14,6 +14,8 @@ const CommunityBoard = () => {
     const [filter, setFilter] = useState<'all' | 'PENDING' | 'IN_PROGRESS' | 'RESOLVED'>('all');
     const [issues, setIssues] = useState<Issue[]>([]);
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState<string | null>(null);
     const [selectedIssue, setSelectedIssue] = useState<Issue | null>(null);
     const [deleteModalOpen, setDeleteModalOpen] = useState(false);
@@ -28,14 +30,11 @@ const CommunityBoard = () => {
             setLoading(true);
             setError(null);
 
-            let issuesData: Issue[];
-            if (filter === 'all') {
-                issuesData = await issueService.getIssuesSortedByUpvotes();
-            } else {
-                issuesData = await issueService.getIssuesByStatus(filter);
-            }
-
-            setIssues(issuesData);
+            const page = filter === 'all'
+                ? await issueService.getIssuesSortedByUpvotesPage()
+                : await issueService.getIssuesByStatus(filter);
+            setIssues(page.items);
+            setNextCursor(page.next);
         } catch (err) {
             console.error('Error fetching issues:', err);
             setError('Failed to load community issues');
@@ -44,6 +43,23 @@ const CommunityBoard = () => {
         }
     };
 
+    const loadMoreIssues = async () => {
+        if (!nextCursor) return;
+
+        try {
+            setLoadingMore(true);
+            const page = filter === 'all'
+                ? await issueService.getIssuesSortedByUpvotesPage(nextCursor)
+                : await issueService.getIssuesByStatus(filter, nextCursor);
+            setIssues(prev => [...prev, ...page.items]);
+            setNextCursor(page.next);
+        } catch (err) {
+            console.error('Error fetching more issues:', err);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleVote = async (issueId: number, voteType: 'up' | 'down' | null) => {
         try {
             if (voteType === null) {
@@ -51,8 +67,10 @@ const CommunityBoard = () => {
             } else if (voteType === 'up') {
                 await voteService.upvote(issueId, userId);
             }
-            // Refresh issues to get updated vote counts
-            await fetchIssues();
+            // Keep the loaded pages; VoteButtons already shows the new count
+            setIssues(prev => prev.map(issue => issue.id === issueId
+                ? { ...issue, upvotes: (issue.upvotes || 0) + (voteType === 'up' ? 1 : -1), hasUserUpvoted: voteType === 'up' }
+                : issue));
         } catch (error) {
             console.error('Vote failed:', error);
         }
@@ -78,8 +96,7 @@ const CommunityBoard = () => {
 
         try {
             await issueService.deleteIssue(issueToDelete);
-            // Refresh issues list
-            await fetchIssues();
+            setIssues(prev => prev.filter(issue => issue.id !== issueToDelete));
             setIssueToDelete(null);
         } catch (error) {
             console.error('Delete failed:', error);
@@ -194,6 +211,18 @@ const CommunityBoard = () => {
                 )}
             </div>
 
+            {nextCursor && (
+                <div className="flex justify-center">
+                    <button
+                        onClick={loadMoreIssues}
+                        disabled={loadingMore}
+                        className="btn-gradient px-6 py-3 disabled:opacity-50"
+                    >
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
+                </div>
+            )}
+
             {/* Report Detail Modal */}
             <ReportDetailModal
                 issue={selectedIssue}
@@ -23,11 +23,11 @@ const Dashboard = () => {
 
                 const [statsData, issuesData] = await Promise.all([
                     issueService.getUserIssueStats(userId),
-                    issueService.getIssuesByUserId(userId)
+                    issueService.getIssuesByUserId(userId, undefined, 4)
                 ]);
 
                 setStats(statsData);
-                setRecentIssues(issuesData.slice(0, 4));
+                setRecentIssues(issuesData.items);
             } catch (err) {
                 console.error('Error fetching dashboard data:', err);
                 setError('Failed to load dashboard data');
@@ -2,7 +2,7 @@ import { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useUser } from '../context/UserContext';
 import { issueService } from '../services/issueService';
-import type { Issue } from '../types/types';
+import type { Issue, IssueStats } from '../types/types';
 import LoadingSpinner from '../components/ui/LoadingSpinner';
 import Button3D from '../components/ui/Button3D';
 import { Plus } from 'lucide-react';
@@ -11,7 +11,10 @@ const MyReports = () => {
     const navigate = useNavigate();
     const { userId } = useUser();
     const [reports, setReports] = useState<Issue[]>([]);
+    const [stats, setStats] = useState<IssueStats>({ total: 0, pending: 0, inProgress: 0, resolved: 0 });
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState<string | null>(null);
 
     useEffect(() => {
@@ -19,8 +22,14 @@ const MyReports = () => {
             try {
                 setLoading(true);
                 setError(null);
-                const data = await issueService.getIssuesByUserId(userId);
-                setReports(data);
+                // Counts come from the stats rollup, so they cover every report, not just the loaded pages
+                const [statsData, page] = await Promise.all([
+                    issueService.getUserIssueStats(userId),
+                    issueService.getIssuesByUserId(userId)
+                ]);
+                setStats(statsData);
+                setReports(page.items);
+                setNextCursor(page.next);
             } catch (err) {
                 console.error('Error fetching reports:', err);
                 setError('Failed to load reports');
@@ -32,6 +41,21 @@ const MyReports = () => {
         fetchReports();
     }, [userId]);
 
+    const loadMoreReports = async () => {
+        if (!nextCursor) return;
+
+        try {
+            setLoadingMore(true);
+            const page = await issueService.getIssuesByUserId(userId, nextCursor);
+            setReports(prev => [...prev, ...page.items]);
+            setNextCursor(page.next);
+        } catch (err) {
+            console.error('Error fetching more reports:', err);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     if (loading) {
         return <LoadingSpinner />;
     }
@@ -52,13 +76,6 @@ const MyReports = () => {
         );
     }
 
-    const stats = {
-        total: reports.length,
-        inProgress: reports.filter(r => r.status === 'IN_PROGRESS').length,
-        resolved: reports.filter(r => r.status === 'RESOLVED').length,
-        pending: reports.filter(r => r.status === 'PENDING').length,
-    };
-
     const getStatusBadge = (status: string) => {
         const badges = {
             'RESOLVED': 'bg-emerald-500/10 text-emerald-400 border border-emerald-500/20',
@@ -197,6 +214,18 @@ const MyReports = () => {
                     ))}
                 </div>
             )}
+
+            {nextCursor && (
+                <div className="flex justify-center">
+                    <button
+                        onClick={loadMoreReports}
+                        disabled={loadingMore}
+                        className="btn-gradient px-6 py-3 disabled:opacity-50"
+                    >
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
+                </div>
+            )}
         </div>
     );
 };
@@ -16,6 +16,14 @@ const Notifications = () => {
         fetchNotifications();
     }, []);
 
+    // New notifications arrive over the push stream instead of by refetching
+    useEffect(() => {
+        return notificationService.subscribe({
+            onNotification: (notification) =>
+                setNotifications(prev => prev.some(n => n.id === notification.id) ? prev : [notification, ...prev]),
+        });
+    }, []);
+
     const fetchNotifications = async () => {
         try {
             setLoading(true);
@@ -34,7 +42,9 @@ const Notifications = () => {
         try {
             await notificationService.markAsRead(notificationId);
             setNotifications(prev =>
-                prev.map(n => n.id === notificationId ? { ...n, isRead: true } : n)
+                // Announcements have negative ids; reading one also reads every older one
+                prev.map(n => n.id === notificationId || (notificationId < 0 && n.id < 0 && n.id >= notificationId)
+                    ? { ...n, isRead: true } : n)
             );
         } catch (err) {
             console.error('Error marking notification as read:', err);
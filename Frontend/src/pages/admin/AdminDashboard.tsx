@@ -40,13 +40,9 @@ const AdminDashboard = () => {
             const statsData = await issueService.getAdminStats();
             setStats(statsData);
 
-            // Fetch recent users
-            const usersData = await userService.getAllUsersWithStats();
-            // Sort by creation date and take the 5 most recent
-            const sortedUsers = usersData
-                .sort((a, b) => new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime())
-                .slice(0, 5);
-            setRecentUsers(sortedUsers);
+            // Fetch the 5 most recent users (the endpoint returns newest first)
+            const usersPage = await userService.getUsersWithStatsPage(undefined, 5);
+            setRecentUsers(usersPage.items);
         } catch (err: any) {
             console.error('Error fetching dashboard data:', err);
             setError(err.message || 'Failed to load dashboard data');
@@ -26,6 +26,8 @@ const IssuesManagement = () => {
     const [searchQuery, setSearchQuery] = useState('');
     const [statusFilter, setStatusFilter] = useState('all');
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState<string | null>(null);
     const [deleteTarget, setDeleteTarget] = useState<{ id: number; title: string } | null>(null);
     const [updatingStatus, setUpdatingStatus] = useState<number | null>(null);
@@ -43,8 +45,10 @@ const IssuesManagement = () => {
         try {
             setLoading(true);
             setError(null);
-            const data = await issueService.getAllIssues();
-            setIssues(data);
+            // Pages arrive highest upvoted first, the order the table shows
+            const page = await issueService.getIssuesSortedByUpvotesPage();
+            setIssues(page.items);
+            setNextCursor(page.next);
         } catch (err: any) {
             console.error('Error fetching issues:', err);
             setError(err.message || 'Failed to load issues');
@@ -53,6 +57,22 @@ const IssuesManagement = () => {
         }
     };
 
+    const loadMoreIssues = async () => {
+        if (!nextCursor) return;
+
+        try {
+            setLoadingMore(true);
+            const page = await issueService.getIssuesSortedByUpvotesPage(nextCursor);
+            setIssues(prev => [...prev, ...page.items]);
+            setNextCursor(page.next);
+        } catch (err: any) {
+            console.error('Error fetching more issues:', err);
+            alert('Failed to load more issues: ' + (err.message || 'Unknown error'));
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const applyFilters = () => {
         let filtered = [...issues];
 
@@ -185,7 +205,7 @@ const IssuesManagement = () => {
 
             {/* Results count */}
             <div className="text-sm text-slate-400">
-                Showing {filteredIssues.length} of {issues.length} issues
+                Showing {filteredIssues.length} of {issues.length} loaded issues
             </div>
 
             {/* Table */}
@@ -259,6 +279,18 @@ const IssuesManagement = () => {
                 )}
             </div>
 
+            {nextCursor && (
+                <div className="flex justify-center">
+                    <button
+                        onClick={loadMoreIssues}
+                        disabled={loadingMore}
+                        className="px-4 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700 transition-colors disabled:opacity-50"
+                    >
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
+                </div>
+            )}
+
             {/* Delete Confirmation Dialog */}
             <ConfirmDialog
                 isOpen={deleteTarget !== null}
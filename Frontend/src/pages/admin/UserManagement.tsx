@@ -21,6 +21,8 @@ const UserManagement = () => {
     const [filteredUsers, setFilteredUsers] = useState<UserData[]>([]);
     const [searchQuery, setSearchQuery] = useState('');
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState<string | null>(null);
     const [deleteTarget, setDeleteTarget] = useState<{ id: number; username: string } | null>(null);
 
@@ -47,11 +49,12 @@ const UserManagement = () => {
         try {
             setLoading(true);
             setError(null);
-            const data = await userService.getAllUsersWithStats();
+            const page = await userService.getUsersWithStatsPage();
             // Filter out admin users
-            const nonAdminUsers = data.filter((user: UserData) => user.role !== 'ADMIN');
+            const nonAdminUsers = page.items.filter((user: UserData) => user.role !== 'ADMIN');
             setUsers(nonAdminUsers);
             setFilteredUsers(nonAdminUsers);
+            setNextCursor(page.next);
         } catch (err: any) {
             console.error('Error fetching users:', err);
             setError(err.message || 'Failed to load users');
@@ -60,6 +63,23 @@ const UserManagement = () => {
         }
     };
 
+    const loadMoreUsers = async () => {
+        if (!nextCursor) return;
+
+        try {
+            setLoadingMore(true);
+            const page = await userService.getUsersWithStatsPage(nextCursor);
+            const nonAdminUsers = page.items.filter((user: UserData) => user.role !== 'ADMIN');
+            setUsers(prev => [...prev, ...nonAdminUsers]);
+            setNextCursor(page.next);
+        } catch (err: any) {
+            console.error('Error fetching more users:', err);
+            alert('Failed to load more users: ' + (err.message || 'Unknown error'));
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleDeleteUser = async () => {
         if (!deleteTarget) return;
 
@@ -130,7 +150,7 @@ const UserManagement = () => {
 
             {/* Results count */}
             <div className="text-sm text-slate-400">
-                Showing {filteredUsers.length} of {users.length} users
+                Showing {filteredUsers.length} of {users.length} loaded users
             </div>
 
             {/* Table */}
@@ -202,6 +222,18 @@ const UserManagement = () => {
                 )}
             </div>
 
+            {nextCursor && (
+                <div className="flex justify-center">
+                    <button
+                        onClick={loadMoreUsers}
+                        disabled={loadingMore}
+                        className="px-4 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700 transition-colors disabled:opacity-50"
+                    >
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
+                </div>
+            )}
+
             {/* Delete Confirmation Dialog */}
             <ConfirmDialog
                 isOpen={deleteTarget !== null}
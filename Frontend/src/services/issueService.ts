@@ -1,22 +1,65 @@
 import api from './api';
-import type { Issue, IssueStats, CreateIssueRequest } from '../types/types';
+import type { Issue, IssueFilter, IssuePage, IssueSearchPage, IssueStats, CreateIssueRequest, SimilarIssue, IssueMapView, IssueChanges } from '../types/types';
 
 export const issueService = {
-    // Get all issues
-    getAllIssues: async (): Promise<Issue[]> => {
-        const response = await api.get('/issues');
+    // Get one page of the newest issues
+    getIssuesPage: async (cursor?: string, limit?: number): Promise<IssuePage> => {
+        const response = await api.get('/issues', { params: { cursor, limit } });
         return response.data;
     },
 
-    // Get issues sorted by upvotes (for Community Board)
-    getIssuesSortedByUpvotes: async (): Promise<Issue[]> => {
-        const response = await api.get('/issues/sorted-by-upvotes');
+    // Get one page of issues sorted by upvotes
+    getIssuesSortedByUpvotesPage: async (cursor?: string, limit?: number): Promise<IssuePage> => {
+        const response = await api.get('/issues/sorted-by-upvotes', { params: { cursor, limit } });
         return response.data;
     },
 
-    // Get issues by user ID
-    getIssuesByUserId: async (userId: number): Promise<Issue[]> => {
-        const response = await api.get(`/issues/user/${userId}`);
+    // Get one page of issues matching any combination of filters
+    filterIssues: async (filter: IssueFilter, cursor?: string, limit?: number): Promise<IssuePage> => {
+        const response = await api.get('/issues/filter', { params: { ...filter, cursor, limit } });
+        return response.data;
+    },
+
+    // Ranked full-text search over titles and descriptions
+    searchIssues: async (query: string, cursor?: string, limit?: number): Promise<IssueSearchPage> => {
+        const response = await api.get('/issues/search', { params: { q: query, cursor, limit } });
+        return response.data;
+    },
+
+    // Get trending issues for a city (time-decayed upvote ranking)
+    getTrendingIssues: async (cityId: number, limit?: number): Promise<Issue[]> => {
+        const response = await api.get('/issues/trending', { params: { cityId, limit } });
+        return response.data;
+    },
+
+    // Issues changed or deleted since the watermark of the previous call
+    getIssueChanges: async (since?: string, limit?: number): Promise<IssueChanges> => {
+        const response = await api.get('/issues/changes', { params: { since, limit } });
+        return response.data;
+    },
+
+    // Issues (high zoom) or clustered counts (low zoom) inside a map viewport
+    getIssuesInBounds: async (
+        bounds: { minLat: number; minLng: number; maxLat: number; maxLng: number },
+        zoom: number
+    ): Promise<IssueMapView> => {
+        const response = await api.get('/issues/map', { params: { ...bounds, zoom } });
+        return response.data;
+    },
+
+    // Likely duplicates of a draft issue in the same zone (or city)
+    findSimilarIssues: async (
+        draft: { title: string; description: string },
+        location: { cityId?: number; zoneId?: number },
+        limit?: number
+    ): Promise<SimilarIssue[]> => {
+        const response = await api.post('/issues/similar', draft, { params: { ...location, limit } });
+        return response.data;
+    },
+
+    // Get one page of a user's issues, newest first
+    getIssuesByUserId: async (userId: number, cursor?: string, limit?: number): Promise<IssuePage> => {
+        const response = await api.get(`/issues/user/${userId}`, { params: { cursor, limit } });
         return response.data;
     },
 
@@ -61,15 +104,15 @@ export const issueService = {
         await api.delete(`/issues/${id}`);
     },
 
-    // Get issues by status
-    getIssuesByStatus: async (status: string): Promise<Issue[]> => {
-        const response = await api.get(`/issues/status/${status}`);
+    // Get one page of issues with a status, newest first
+    getIssuesByStatus: async (status: string, cursor?: string, limit?: number): Promise<IssuePage> => {
+        const response = await api.get(`/issues/status/${status}`, { params: { cursor, limit } });
         return response.data;
     },
 
-    // Get issues by city
-    getIssuesByCityId: async (cityId: number): Promise<Issue[]> => {
-        const response = await api.get(`/issues/city/${cityId}`);
+    // Get one page of a city's issues, newest first
+    getIssuesByCityId: async (cityId: number, cursor?: string, limit?: number): Promise<IssuePage> => {
+        const response = await api.get(`/issues/city/${cityId}`, { params: { cursor, limit } });
         return response.data;
     },
 
@@ -79,6 +122,11 @@ export const issueService = {
         return response.data;
     },
 
+    bulkUpdateIssueStatus: async (issueIds: number[], status: string): Promise<{ requested: number; updated: number }> => {
+        const response = await api.put('/admin/issues/status', { issueIds, status });
+        return response.data;
+    },
+
     getAdminStats: async (): Promise<any> => {
         const response = await api.get('/admin/stats');
         return response.data;
@@ -11,6 +11,25 @@ export interface Notification {
     createdAt: string;
 }
 
+export interface NotificationStreamHandlers {
+    onNotification?: (notification: Notification) => void;
+    onUnreadCount?: (count: number) => void;
+}
+
+// Parses one "event:/data:" block of a text/event-stream body
+const dispatchEvent = (block: string, handlers: NotificationStreamHandlers) => {
+    let event = 'message';
+    const data: string[] = [];
+    for (const line of block.split('\n')) {
+        if (line.startsWith('event:')) event = line.slice(6).trim();
+        else if (line.startsWith('data:')) data.push(line.slice(5).trimStart());
+    }
+    if (data.length === 0) return; // heartbeat comment
+    const payload = data.join('\n');
+    if (event === 'notification') handlers.onNotification?.(JSON.parse(payload));
+    else if (event === 'unread-count') handlers.onUnreadCount?.(Number(payload));
+};
+
 export const notificationService = {
     // Get all user notifications
     getUserNotifications: async (userId: number): Promise<Notification[]> => {
@@ -38,5 +57,52 @@ export const notificationService = {
     // Delete notification
     deleteNotification: async (notificationId: number): Promise<void> => {
         await api.delete(`/notifications/${notificationId}`);
+    },
+
+    // Push stream of new notifications and unread counts, reconnecting with backoff.
+    // EventSource cannot send the Bearer header, so the stream is read with fetch.
+    // Returns a function that closes the stream.
+    subscribe: (handlers: NotificationStreamHandlers): (() => void) => {
+        const controller = new AbortController();
+        let retryMs = 1000;
+
+        const connect = async () => {
+            while (!controller.signal.aborted) {
+                try {
+                    const token = localStorage.getItem('token');
+                    const response = await fetch(`${api.defaults.baseURL}/notifications/stream`, {
+                        headers: {
+                            Accept: 'text/event-stream',
+                            ...(token ? { Authorization: `Bearer ${token}` } : {}),
+                        },
+                        signal: controller.signal,
+                    });
+                    if (response.status === 401 || response.status === 403) return;
+                    if (!response.ok || !response.body) throw new Error(`Stream failed: ${response.status}`);
+
+                    retryMs = 1000;
+                    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+                    let buffer = '';
+                    for (;;) {
+                        const { value, done } = await reader.read();
+                        if (done) break;
+                        buffer += value.replace(/\r\n/g, '\n');
+                        let boundary;
+                        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                            dispatchEvent(buffer.slice(0, boundary), handlers);
+                            buffer = buffer.slice(boundary + 2);
+                        }
+                    }
+                } catch (err) {
+                    if (controller.signal.aborted) return;
+                    console.error('Notification stream error:', err);
+                }
+                await new Promise(resolve => setTimeout(resolve, retryMs));
+                retryMs = Math.min(retryMs * 2, 30000);
+            }
+        };
+
+        connect();
+        return () => controller.abort();
     }
 };
@@ -1,4 +1,5 @@
 import api from './api';
+import type { VoteStatus } from '../types/types';
 
 export const upvoteService = {
     // Add upvote
@@ -17,6 +18,13 @@ export const upvoteService = {
         return response.data.hasUpvoted;
     },
 
+    // Vote state and counts for a whole board of issues in one request
+    getVoteStatuses: async (userId: number | undefined, issueIds: number[]): Promise<VoteStatus[]> => {
+        const params = userId ? `?userId=${userId}` : '';
+        const response = await api.post(`/upvotes/status${params}`, { issueIds });
+        return response.data;
+    },
+
     // Get upvote count for an issue
     getUpvoteCount: async (issueId: number): Promise<number> => {
         const response = await api.get(`/upvotes/count/${issueId}`);
@@ -38,8 +38,9 @@ export const userService = {
     },
 
     // Admin methods
-    getAllUsersWithStats: async (): Promise<any[]> => {
-        const response = await api.get('/admin/users');
+    // One page of users with their report counts, newest first
+    getUsersWithStatsPage: async (cursor?: string, limit?: number): Promise<{ items: any[]; next: string | null }> => {
+        const response = await api.get('/admin/users', { params: { cursor, limit } });
         return response.data;
     },
 
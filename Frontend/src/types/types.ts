@@ -77,9 +77,51 @@ export interface Issue {
     zoneName?: string;
     areaId?: number;
     areaName?: string;
+    latitude?: number;
+    longitude?: number;
     hasUserUpvoted?: boolean;
 }
 
+export interface IssuePage {
+    items: Issue[];
+    next: string | null;
+}
+
+export interface IssueSearchResult {
+    issue: Issue;
+    titleHighlight: string; // HTML-escaped, matches wrapped in <mark>
+    snippet: string;
+    rank: number;
+}
+
+export interface IssueSearchPage {
+    items: IssueSearchResult[];
+    next: string | null;
+}
+
+export interface VoteStatus {
+    issueId: number;
+    hasUpvoted: boolean;
+    upvotes: number;
+}
+
+export interface SimilarIssue {
+    issueId: number;
+    title: string;
+    similarity: number;
+}
+
+export interface IssueFilter {
+    status?: IssueStatus;
+    priority?: Priority;
+    category?: string;
+    cityId?: number;
+    zoneId?: number;
+    areaId?: number;
+    createdFrom?: string;
+    createdTo?: string;
+}
+
 export interface IssueWithDetails extends Issue {
     user?: User;
     city?: City;
@@ -107,4 +149,28 @@ export interface CreateIssueRequest {
     category: string;
     priority: Priority;
     status?: IssueStatus;
+    latitude?: number;
+    longitude?: number;
+}
+
+export interface IssueChanges {
+    issues: Issue[];
+    deletedIds: number[];
+    watermark: string;
+    hasMore: boolean;
+    reset: boolean;
+}
+
+export interface IssueMapCluster {
+    cell: string;
+    count: number;
+    latitude: number;
+    longitude: number;
+}
+
+export interface IssueMapView {
+    mode: 'issues' | 'clusters';
+    issues: Issue[];
+    clusters: IssueMapCluster[];
+    truncated: boolean;
 }